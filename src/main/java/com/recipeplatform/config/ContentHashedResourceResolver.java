@@ -0,0 +1,124 @@
+package com.recipeplatform.config;
+
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.resource.HttpResource;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URL;
+import java.util.List;
+
+/**
+ * Content version resolver that marks only the resources requested by their content-hashed URL
+ * (name-&lt;md5&gt;.ext) as cacheable for a long time. The same file requested by its plain URL is
+ * served with the handler's own cache control.
+ */
+class ContentHashedResourceResolver extends VersionResourceResolver {
+
+    private final CacheControl hashedCacheControl;
+
+    ContentHashedResourceResolver(CacheControl hashedCacheControl) {
+        this.hashedCacheControl = hashedCacheControl;
+        addContentVersionStrategy("/**");
+    }
+
+    @Override
+    protected Resource resolveResourceInternal(HttpServletRequest request, String requestPath,
+                                               List<? extends Resource> locations, ResourceResolverChain chain) {
+        // A plain file whose name merely looks versioned (site-logo.png) must not be cached as immutable
+        Resource plain = chain.resolveResource(request, requestPath, locations);
+        if (plain != null) {
+            return plain;
+        }
+        Resource hashed = super.resolveResourceInternal(request, requestPath, locations, chain);
+        return hashed != null ? new HashedResource(hashed, hashedCacheControl) : null;
+    }
+
+    // The handler applies its cache control first and HttpResource headers afterwards, so this overrides it
+    private static final class HashedResource extends AbstractResource implements HttpResource {
+
+        private final Resource original;
+        private final CacheControl cacheControl;
+
+        private HashedResource(Resource original, CacheControl cacheControl) {
+            this.original = original;
+            this.cacheControl = cacheControl;
+        }
+
+        @Override
+        public boolean exists() {
+            return original.exists();
+        }
+
+        @Override
+        public boolean isReadable() {
+            return original.isReadable();
+        }
+
+        @Override
+        public boolean isFile() {
+            return original.isFile();
+        }
+
+        @Override
+        public URL getURL() throws IOException {
+            return original.getURL();
+        }
+
+        @Override
+        public URI getURI() throws IOException {
+            return original.getURI();
+        }
+
+        @Override
+        public File getFile() throws IOException {
+            return original.getFile();
+        }
+
+        @Override
+        public long contentLength() throws IOException {
+            return original.contentLength();
+        }
+
+        @Override
+        public long lastModified() throws IOException {
+            return original.lastModified();
+        }
+
+        @Override
+        public Resource createRelative(String relativePath) throws IOException {
+            return original.createRelative(relativePath);
+        }
+
+        @Override
+        public String getFilename() {
+            return original.getFilename();
+        }
+
+        @Override
+        public String getDescription() {
+            return original.getDescription();
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return original.getInputStream();
+        }
+
+        @Override
+        public HttpHeaders getResponseHeaders() {
+            HttpHeaders headers = original instanceof HttpResource ?
+                ((HttpResource) original).getResponseHeaders() : new HttpHeaders();
+            headers.setCacheControl(cacheControl);
+            return headers;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.recipeplatform.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "recipe.export")
+@Data
+public class ExportProperties {
+    // Rows per round trip of the export cursor; only this many rows are held by the driver at a time
+    private int fetchSize = 1000;
+}
@@ -0,0 +1,34 @@
+package com.recipeplatform.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.recipeplatform.payload.response.ResponseSerializers;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+@Configuration
+public class JacksonConfig {
+    public static final String SMILE_VALUE = "application/x-jackson-smile";
+
+    // Picked up by Spring Boot's ObjectMapper auto-configuration
+    @Bean
+    public Module responseSerializersModule() {
+        return ResponseSerializers.module();
+    }
+
+    // The binary converters are built from Boot's builder so they share the modules and settings of the JSON
+    // mapper; Spring MVC's own defaults would use a plain mapper without the response serializers
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
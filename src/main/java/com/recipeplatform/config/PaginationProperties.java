@@ -0,0 +1,22 @@
+package com.recipeplatform.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "recipe.pagination")
+@Data
+public class PaginationProperties {
+    private int defaultSize = 20;
+    private int maxSize = 100;
+    // Most ids a single batch get may ask for
+    private int maxBatchSize = 200;
+
+    public int clamp(Integer requested) {
+        if (requested == null || requested < 1) {
+            return defaultSize;
+        }
+        return Math.min(requested, maxSize);
+    }
+}
@@ -0,0 +1,29 @@
+package com.recipeplatform.config;
+
+import com.recipeplatform.search.RecipeIndexer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+
+@Component
+public class SearchIndexInitializer implements CommandLineRunner {
+    private static final Logger logger = LoggerFactory.getLogger(SearchIndexInitializer.class);
+
+    private final RecipeIndexer recipeIndexer;
+
+    @Autowired
+    public SearchIndexInitializer(RecipeIndexer recipeIndexer) {
+        this.recipeIndexer = recipeIndexer;
+    }
+
+    @Override
+    public void run(String... args) {
+        try {
+            recipeIndexer.rebuild();
+        } catch (Exception e) {
+            logger.error("Error building search indexes: {}", e.getMessage(), e);
+        }
+    }
+}
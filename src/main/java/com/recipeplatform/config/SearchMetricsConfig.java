@@ -0,0 +1,34 @@
+package com.recipeplatform.config;
+
+import com.recipeplatform.search.SearchResultCache;
+import com.recipeplatform.search.SuggestionIndex;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class SearchMetricsConfig {
+
+    @Bean
+    public MeterBinder suggestionIndexMetrics(SuggestionIndex suggestionIndex) {
+        return registry -> Gauge.builder("recipe.suggest.memory", suggestionIndex, SuggestionIndex::estimatedBytes)
+            .description("Approximate heap used by the title and ingredient suggestion tries")
+            .baseUnit("bytes")
+            .register(registry);
+    }
+
+    @Bean
+    public MeterBinder searchResultCacheMetrics(SearchResultCache searchResultCache) {
+        return registry -> {
+            CaffeineCacheMetrics.monitor(registry, searchResultCache.nativeCache(), "recipe.search");
+            FunctionCounter.builder("recipe.search.cache.invalidations", searchResultCache,
+                    SearchResultCache::invalidationCount)
+                .description("Search result cache entries dropped because a recipe write could change them")
+                .register(registry);
+        };
+    }
+}
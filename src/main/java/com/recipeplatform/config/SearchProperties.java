@@ -0,0 +1,46 @@
+package com.recipeplatform.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "recipe.search")
+@Data
+public class SearchProperties {
+    // PostgreSQL tsvector search; disable on databases without full-text support (e.g. H2)
+    private boolean fullText = true;
+
+    // Fuzzy search through the pg_trgm extension; otherwise an in-memory trigram index is kept
+    private boolean pgTrgm = false;
+
+    // Minimum trigram similarity of a fuzzy match, for the in-memory index and pg_trgm alike
+    // (pg_trgm.similarity_threshold is overridden per transaction; its server default is 0.3 as well)
+    private double trigramThreshold = 0.3;
+
+    // Candidate sets up to this size are pushed into SQL as an IN list; larger ones are intersected in memory
+    private int inListLimit = 1000;
+
+    // Search result cache bounds; entries are also invalidated by recipe writes
+    private long cacheMaxSize = 1000;
+    private Duration cacheTtl = Duration.ofMinutes(10);
+
+    // BM25F ranking: per-field boosts, term frequency saturation (k1) and length normalization (b)
+    private double bm25TitleBoost = 3.0;
+    private double bm25IngredientBoost = 2.0;
+    private double bm25DescriptionBoost = 1.0;
+    private double bm25K1 = 1.2;
+    private double bm25B = 0.75;
+
+    // MinHash LSH for similar recipes: similarity ~ (1/bands)^(1/rows) is the point where pairs become likely candidates
+    private int minhashBands = 32;
+    private int minhashRows = 4;
+
+    // Persisted index segments: a restart loads the last checkpoint and replays only recipes changed since
+    private boolean segments = true;
+    private String segmentDirectory = "data/search-index";
+    // Checkpoints are taken this far in the past so transactions still in flight are replayed next time
+    private Duration segmentCheckpointLag = Duration.ofMinutes(1);
+}
@@ -5,6 +5,7 @@ import com.recipeplatform.security.services.UserDetailsServiceImpl;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.method.configuration.EnableGlobalMethodSecurity;
@@ -52,6 +53,7 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
             .authorizeRequests()
                 .antMatchers("/api/auth/**").permitAll()
                 .antMatchers("/api/categories/**").permitAll()
+                .antMatchers(HttpMethod.POST, "/api/recipes/*/comments").authenticated()
                 .antMatchers("/api/recipes/**").permitAll()
                 .antMatchers("/", "/index.html", "/*.js", "/*.css", "/favicon.ico").permitAll()
                 .anyRequest().authenticated();
@@ -1,27 +1,55 @@
 package com.recipeplatform.config;
 
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.ViewControllerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.ResourceUrlEncodingFilter;
+
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    // Static assets are gzip- and brotli-compressed at build time (see the antrun execution in pom.xml);
+    // the encoded resolver picks the .br or .gz variant the client accepts, so nothing is compressed
+    // per request. It has to come before the version resolver, which hashes the unencoded file.
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        // The entry page is requested by its plain URL and must be revalidated on every load
+        registry.addResourceHandler("/index.html")
+                .addResourceLocations("classpath:/static/")
+                .setCacheControl(CacheControl.noCache())
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver());
+
+        // Other assets are revalidated too when requested by plain URL; only a content-hashed URL
+        // (name-<md5>.ext, written by the URL encoding filter below) changes with the content and is cached for a year
         registry.addResourceHandler("/**")
-                .addResourceLocations("classpath:/static/");
-        
+                .addResourceLocations("classpath:/static/")
+                .setCacheControl(CacheControl.noCache())
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver())
+                .addResolver(new ContentHashedResourceResolver(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic()));
+
         registry.addResourceHandler("/swagger-ui/**")
                 .addResourceLocations("classpath:/META-INF/resources/webjars/springdoc-openapi-ui/")
                 .resourceChain(false);
     }
 
+    // Rewrites asset links passed through HttpServletResponse#encodeURL to their content-hashed form
+    @Bean
+    public ResourceUrlEncodingFilter resourceUrlEncodingFilter() {
+        return new ResourceUrlEncodingFilter();
+    }
+
     @Override
     public void addViewControllers(ViewControllerRegistry registry) {
         registry.addViewController("/").setViewName("forward:/index.html");
         registry.addViewController("/swagger-ui/")
                 .setViewName("forward:/swagger-ui/index.html");
     }
-} 
\ No newline at end of file
+}
@@ -1,6 +1,14 @@
 package com.recipeplatform.controller;
 
+import com.recipeplatform.config.JacksonConfig;
+import com.recipeplatform.config.PaginationProperties;
 import com.recipeplatform.model.Category;
+import com.recipeplatform.model.VersionStamp;
+import com.recipeplatform.payload.response.CategoryCountResponse;
+import com.recipeplatform.payload.response.CategoryField;
+import com.recipeplatform.payload.response.CategoryResponse;
+import com.recipeplatform.payload.response.SparseCategoryResponse;
+import com.recipeplatform.service.CatalogVersionService;
 import com.recipeplatform.service.CategoryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -13,14 +21,21 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import javax.persistence.EntityNotFoundException;
+import javax.servlet.http.HttpServletRequest;
 import org.springframework.http.HttpStatus;
-import java.util.HashMap;
+import org.springframework.http.MediaType;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 
 @RestController
 @RequestMapping("/api/categories")
@@ -28,52 +43,84 @@ import java.util.Optional;
 @CrossOrigin(origins = "*", maxAge = 3600)
 public class CategoryController {
     private static final Logger logger = LoggerFactory.getLogger(CategoryController.class);
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String TOTAL_COUNT_HEADER = "X-Total-Count";
     private final CategoryService categoryService;
+    private final CatalogVersionService catalogVersionService;
+    private final PaginationProperties paginationProperties;
 
     @Autowired
-    public CategoryController(CategoryService categoryService) {
+    public CategoryController(CategoryService categoryService, CatalogVersionService catalogVersionService,
+                              PaginationProperties paginationProperties) {
         this.categoryService = categoryService;
+        this.catalogVersionService = catalogVersionService;
+        this.paginationProperties = paginationProperties;
     }
 
-    @Operation(summary = "Get all categories", description = "Retrieve a list of all categories")
+    @Operation(summary = "Get all categories",
+        description = "Retrieve categories ordered by id, one page at a time, by page number or by the " +
+                      "X-Next-Cursor header of the previous page. The X-Total-Count header is only computed " +
+                      "when count=true. With fields only the named fields (id, name, description) are " +
+                      "selected and returned; withCounts=true adds each category's recipeCount, computed in " +
+                      "the same query. The ETag follows the catalog version, so If-None-Match " +
+                      "revalidates the page without loading it.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved categories",
-                content = @Content(schema = @Schema(implementation = Category.class)))
+                content = @Content(schema = @Schema(implementation = CategoryResponse.class))),
+        @ApiResponse(responseCode = "304", description = "Catalog unchanged since the given ETag"),
+        @ApiResponse(responseCode = "400", description = "Invalid paging parameters or fields")
     })
-    @GetMapping(produces = "application/json")
-    public ResponseEntity<?> getAllCategories() {
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, JacksonConfig.SMILE_VALUE})
+    public ResponseEntity<?> getAllCategories(
+            @Parameter(description = "Zero-based page number; ignored when after is given")
+            @RequestParam(required = false) Integer page,
+            @Parameter(description = "Page size, capped by the configured maximum")
+            @RequestParam(required = false) Integer size,
+            @Parameter(description = "Cursor returned in X-Next-Cursor by the previous page")
+            @RequestParam(required = false) Long after,
+            @Parameter(description = "Whether to return the total number of categories in X-Total-Count")
+            @RequestParam(defaultValue = "false") boolean count,
+            @Parameter(description = "Comma-separated fields to return, e.g. id,name")
+            @RequestParam(required = false) String fields,
+            @Parameter(description = "Whether to include the number of recipes in each category")
+            @RequestParam(defaultValue = "false") boolean withCounts,
+            HttpServletRequest request) {
         try {
-            logger.info("Getting all categories");
-            List<Category> categories = categoryService.getAllCategories();
-            logger.info("Found {} categories", categories.size());
-            
-            if (categories.isEmpty()) {
-                logger.warn("No categories found in the database");
-                return ResponseEntity.ok()
-                    .contentType(org.springframework.http.MediaType.APPLICATION_JSON)
-                    .body("[]");
-            } else {
-                // Convert to DTOs to avoid circular reference
-                List<Map<String, Object>> categoryDTOs = categories.stream()
-                    .map(category -> {
-                        Map<String, Object> dto = new HashMap<>();
-                        dto.put("id", category.getId());
-                        dto.put("name", category.getName());
-                        dto.put("description", category.getDescription());
-                        return dto;
-                    })
-                    .collect(java.util.stream.Collectors.toList());
-                    
-                categories.forEach(category -> 
-                    logger.info("Category: id={}, name={}, description={}", 
-                        category.getId(), 
-                        category.getName(),
-                        category.getDescription()));
-                        
-                return ResponseEntity.ok()
-                    .contentType(org.springframework.http.MediaType.APPLICATION_JSON)
-                    .body(categoryDTOs);
+            if (page != null && page < 0) {
+                throw new IllegalArgumentException("page must not be negative");
+            }
+            if (withCounts && fields != null) {
+                throw new IllegalArgumentException("fields and withCounts cannot be combined");
+            }
+            Set<CategoryField> fieldSet = fields != null ? CategoryField.parse(fields) : null;
+            VersionStamp catalog = catalogVersionService.current();
+            String etag = ConditionalRequests.etag("catalog", "categories", catalog);
+            if (ConditionalRequests.notModified(request, etag, catalog)) {
+                return ConditionalRequests.validated(etag, catalog).build();
+            }
+            int pageSize = paginationProperties.clamp(size);
+            logger.info("Getting categories: page={}, after={}, size={}, fields={}, withCounts={}",
+                page, after, pageSize, fieldSet, withCounts);
+            Pageable pageable = PageRequest.of(page != null ? page : 0, pageSize, Sort.by("id"));
+            ResponseEntity.BodyBuilder response = ConditionalRequests.validated(etag, catalog);
+            if (withCounts) {
+                return listResponse(response, after != null
+                    ? categoryService.getCategoriesWithRecipeCountsAfter(after, pageSize)
+                    : categoryService.getCategoriesWithRecipeCounts(pageable), CategoryCountResponse::getId, count);
+            }
+            if (fieldSet != null) {
+                return listResponse(response, after != null
+                    ? categoryService.getCategoryFieldsAfter(fieldSet, after, pageSize)
+                    : categoryService.getCategoryFields(fieldSet, pageable), SparseCategoryResponse::getId, count);
             }
+            Slice<Category> categories = after != null
+                ? categoryService.getCategoriesAfter(after, pageSize)
+                : categoryService.getCategories(pageable);
+            return listResponse(response, categories.map(CategoryResponse::from), CategoryResponse::getId, count);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid category listing request: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             logger.error("Error getting categories", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -82,31 +129,67 @@ public class CategoryController {
         }
     }
 
-    @Operation(summary = "Get category by ID", description = "Retrieve a category by its ID")
+    private <T> ResponseEntity<List<T>> listResponse(ResponseEntity.BodyBuilder response, Slice<T> items,
+                                                     Function<T, Long> idOf, boolean count) {
+        logger.info("Found {} categories", items.getNumberOfElements());
+        if (items.hasNext()) {
+            T last = items.getContent().get(items.getNumberOfElements() - 1);
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(idOf.apply(last)));
+        }
+        if (count) {
+            response.header(TOTAL_COUNT_HEADER, String.valueOf(categoryService.countCategories()));
+        }
+        return response.body(items.getContent());
+    }
+
+    @Operation(summary = "Get category by ID",
+        description = "Retrieve a category by its ID. With fields only the named fields are selected and returned. " +
+                      "The ETag follows the catalog version, so it changes when any of the category's recipes change")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved category",
                 content = @Content(schema = @Schema(implementation = Category.class))),
+        @ApiResponse(responseCode = "304", description = "Category unchanged since the given ETag"),
+        @ApiResponse(responseCode = "400", description = "Unknown field"),
         @ApiResponse(responseCode = "404", description = "Category not found")
     })
     @GetMapping("/{id}")
     public ResponseEntity<?> getCategoryById(
-            @Parameter(description = "ID of the category to retrieve") @PathVariable Long id) {
+            @Parameter(description = "ID of the category to retrieve") @PathVariable Long id,
+            @Parameter(description = "Comma-separated fields to return, e.g. id,name")
+            @RequestParam(required = false) String fields,
+            HttpServletRequest request) {
         try {
             logger.info("Getting category with id: {}", id);
+            Set<CategoryField> fieldSet = fields != null ? CategoryField.parse(fields) : null;
+            if (categoryService.getCategoryVersion(id).isEmpty()) {
+                logger.warn("Category not found with id: {}", id);
+                return categoryNotFound(id);
+            }
+            // The body embeds the category's recipes, whose writes bump the catalog but not the category
+            VersionStamp stamp = catalogVersionService.current();
+            String etag = ConditionalRequests.etag("category", id, stamp);
+            if (ConditionalRequests.notModified(request, etag, stamp)) {
+                return ConditionalRequests.validated(etag, stamp).build();
+            }
+            if (fieldSet != null) {
+                return categoryService.getCategoryFieldsById(fieldSet, id)
+                    .<ResponseEntity<?>>map(category -> ConditionalRequests.validated(etag, stamp).body(category))
+                    .orElseGet(() -> categoryNotFound(id));
+            }
+
             Optional<Category> categoryOpt = categoryService.getCategoryById(id);
-            
             if (categoryOpt.isPresent()) {
                 Category category = categoryOpt.get();
                 logger.info("Found category: {}", category.getName());
-                return ResponseEntity.ok(category);
+                return ConditionalRequests.validated(etag, stamp).body(category);
             } else {
                 logger.warn("Category not found with id: {}", id);
-                return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(Map.of(
-                        "error", "Category not found",
-                        "id", id.toString()
-                    ));
+                return categoryNotFound(id);
             }
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid category request: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             logger.error("Error getting category", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -118,6 +201,14 @@ public class CategoryController {
         }
     }
 
+    private static ResponseEntity<?> categoryNotFound(Long id) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+            .body(Map.of(
+                "error", "Category not found",
+                "id", id.toString()
+            ));
+    }
+
     @Operation(summary = "Create a new category", description = "Create a new category")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Category created successfully",
@@ -0,0 +1,112 @@
+package com.recipeplatform.controller;
+
+import com.recipeplatform.config.PaginationProperties;
+import com.recipeplatform.exception.ResourceNotFoundException;
+import com.recipeplatform.payload.request.CommentRequest;
+import com.recipeplatform.payload.response.CommentCursor;
+import com.recipeplatform.payload.response.CommentResponse;
+import com.recipeplatform.service.CommentService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.Valid;
+import java.security.Principal;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/recipes/{recipeId}/comments")
+@Tag(name = "Comment", description = "Recipe comment APIs")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class CommentController {
+    private static final Logger logger = LoggerFactory.getLogger(CommentController.class);
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private final CommentService commentService;
+    private final PaginationProperties paginationProperties;
+
+    @Autowired
+    public CommentController(CommentService commentService, PaginationProperties paginationProperties) {
+        this.commentService = commentService;
+        this.paginationProperties = paginationProperties;
+    }
+
+    @Operation(summary = "Get recipe comments",
+        description = "Comments of a recipe, newest first, one page at a time. Pass the X-Next-Cursor header " +
+                      "of the previous page as after to continue; every page costs the same however deep it is.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved comments",
+                content = @Content(schema = @Schema(implementation = CommentResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+        @ApiResponse(responseCode = "404", description = "Recipe not found")
+    })
+    @GetMapping
+    public ResponseEntity<?> getComments(
+            @Parameter(description = "ID of the recipe") @PathVariable Long recipeId,
+            @Parameter(description = "Cursor returned in X-Next-Cursor by the previous page")
+            @RequestParam(required = false) String after,
+            @Parameter(description = "Page size, capped by the configured maximum")
+            @RequestParam(required = false) Integer size) {
+        try {
+            CommentCursor cursor = after != null ? CommentCursor.decode(after) : null;
+            Slice<CommentResponse> comments = commentService.getComments(recipeId, cursor,
+                paginationProperties.clamp(size));
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (comments.hasNext()) {
+                CommentResponse last = comments.getContent().get(comments.getNumberOfElements() - 1);
+                response.header(NEXT_CURSOR_HEADER, CommentCursor.of(last).encode());
+            }
+            return response.body(comments.getContent());
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid comment listing request: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", e.getMessage()));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error getting comments of recipe {}: {}", recipeId, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("error", "Failed to get comments: " + e.getMessage()));
+        }
+    }
+
+    @Operation(summary = "Add a comment", description = "Add a comment to a recipe as the signed-in user",
+        security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Comment created",
+                content = @Content(schema = @Schema(implementation = CommentResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Empty or too long text"),
+        @ApiResponse(responseCode = "401", description = "Not signed in"),
+        @ApiResponse(responseCode = "404", description = "Recipe not found")
+    })
+    @PostMapping
+    public ResponseEntity<?> addComment(
+            @Parameter(description = "ID of the recipe") @PathVariable Long recipeId,
+            @Valid @RequestBody CommentRequest commentRequest,
+            Principal principal) {
+        try {
+            CommentResponse comment = commentService.addComment(recipeId, commentRequest.getText(),
+                principal.getName());
+            return ResponseEntity.status(HttpStatus.CREATED).body(comment);
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error adding comment to recipe {}: {}", recipeId, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("error", "Failed to add comment: " + e.getMessage()));
+        }
+    }
+}
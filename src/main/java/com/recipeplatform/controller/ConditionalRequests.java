@@ -0,0 +1,61 @@
+package com.recipeplatform.controller;
+
+import com.recipeplatform.model.VersionStamp;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import javax.servlet.http.HttpServletRequest;
+import java.time.Instant;
+
+/**
+ * Conditional GET support from version stamps. The stamp is looked up first; when the client's
+ * If-None-Match or If-Modified-Since still holds, the handler returns {@link #validated} without a body
+ * and Spring answers 304 without loading or serializing the resource.
+ */
+final class ConditionalRequests {
+    private ConditionalRequests() {
+    }
+
+    // Weak: the tag names a version, which stays the same across JSON, CBOR and gzip-compressed bodies.
+    // Tomcat also refuses to compress responses that carry a strong ETag
+    static String etag(String kind, Object id, VersionStamp stamp) {
+        return "W/\"" + kind + "-" + id + "-" + stamp.getVersion() + "\"";
+    }
+
+    // A body embedding another resource changes with it, so that resource's version is part of the tag
+    static String etag(String kind, Object id, VersionStamp stamp, long embeddedVersion) {
+        return "W/\"" + kind + "-" + id + "-" + stamp.getVersion() + "-" + embeddedVersion + "\"";
+    }
+
+    // Same version, modified at the later of the two times; either may be unknown
+    static VersionStamp modifiedAtLatest(VersionStamp stamp, Instant modifiedAt) {
+        if (modifiedAt == null || (stamp.getModifiedAt() != null && !modifiedAt.isAfter(stamp.getModifiedAt()))) {
+            return stamp;
+        }
+        return new VersionStamp(stamp.getVersion(), modifiedAt);
+    }
+
+    static boolean notModified(HttpServletRequest request, String etag, VersionStamp stamp) {
+        // Without a response the check only evaluates the request headers
+        return new ServletWebRequest(request).checkNotModified(etag, lastModified(stamp));
+    }
+
+    // Clients may cache but must revalidate, which the ETag makes cheap. The body format follows Accept,
+    // and a 304 has to vary the same way as the 200 it validates
+    static ResponseEntity.BodyBuilder validated(String etag, VersionStamp stamp) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .eTag(etag)
+            .cacheControl(CacheControl.noCache())
+            .varyBy(HttpHeaders.ACCEPT);
+        if (stamp.getModifiedAt() != null) {
+            response.lastModified(stamp.getModifiedAt());
+        }
+        return response;
+    }
+
+    private static long lastModified(VersionStamp stamp) {
+        return stamp.getModifiedAt() != null ? stamp.getModifiedAt().toEpochMilli() : -1;
+    }
+}
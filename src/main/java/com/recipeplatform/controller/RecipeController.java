@@ -1,8 +1,31 @@
 package com.recipeplatform.controller;
 
+import com.recipeplatform.config.JacksonConfig;
+import com.recipeplatform.config.PaginationProperties;
 import com.recipeplatform.model.Recipe;
+import com.recipeplatform.model.VersionStamp;
+import com.recipeplatform.payload.request.BatchGetRequest;
+import com.recipeplatform.payload.response.BatchGetResponse;
+import com.recipeplatform.payload.response.FuzzySearchResponse;
+import com.recipeplatform.payload.response.PantryMatchResponse;
+import com.recipeplatform.payload.response.RankedRecipeResponse;
+import com.recipeplatform.payload.response.RecipeCardResponse;
+import com.recipeplatform.payload.response.RecipeField;
+import com.recipeplatform.payload.response.RecipeResponse;
+import com.recipeplatform.payload.response.RecipeSummaryResponse;
+import com.recipeplatform.payload.response.RecipeView;
+import com.recipeplatform.payload.response.SearchResponse;
+import com.recipeplatform.payload.response.SparseRecipeResponse;
+import com.recipeplatform.payload.response.SuggestResponse;
+import com.recipeplatform.search.RecipeQuery;
+import com.recipeplatform.search.SearchCursor;
+import com.recipeplatform.search.SearchPage;
+import com.recipeplatform.search.SearchSort;
+import com.recipeplatform.search.SuggestionIndex;
 import com.recipeplatform.service.RecipeService;
+import com.recipeplatform.service.CatalogVersionService;
 import com.recipeplatform.service.CategoryService;
+import com.recipeplatform.service.RecipeExportService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -14,14 +37,29 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import javax.persistence.EntityNotFoundException;
+import javax.servlet.http.HttpServletRequest;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/recipes")
@@ -29,56 +67,98 @@ import java.util.Map;
 @CrossOrigin(origins = "*", maxAge = 3600)
 public class RecipeController {
     private static final Logger logger = LoggerFactory.getLogger(RecipeController.class);
+    private static final int MAX_PANTRY_MATCHES = 100;
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String GZIP = "application/gzip";
     private final RecipeService recipeService;
     private final CategoryService categoryService;
+    private final RecipeExportService recipeExportService;
+    private final CatalogVersionService catalogVersionService;
+    private final PaginationProperties paginationProperties;
 
     @Autowired
-    public RecipeController(RecipeService recipeService, CategoryService categoryService) {
+    public RecipeController(RecipeService recipeService, CategoryService categoryService,
+                            RecipeExportService recipeExportService, CatalogVersionService catalogVersionService,
+                            PaginationProperties paginationProperties) {
         this.recipeService = recipeService;
         this.categoryService = categoryService;
+        this.recipeExportService = recipeExportService;
+        this.catalogVersionService = catalogVersionService;
+        this.paginationProperties = paginationProperties;
     }
 
-    @Operation(summary = "Get all recipes", description = "Retrieve a list of all recipes")
+    @Operation(summary = "Get all recipes",
+        description = "Retrieve recipes ordered by id, one page at a time. Pages are addressed either by page " +
+                      "number or by the X-Next-Cursor header of the previous page, which stays stable while " +
+                      "recipes are added. The X-Total-Count header is only computed when count=true. " +
+                      "The view selects the columns that are loaded: summary (id, title, category), card " +
+                      "(summary plus description) or full (everything, the default). Alternatively fields " +
+                      "names the exact fields to return (id, title, description, ingredients, category); only " +
+                      "those are selected and serialized, and the id is always included. The ETag follows the " +
+                      "catalog version, so If-None-Match revalidates the page without loading it.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved recipes",
-                content = @Content(schema = @Schema(implementation = Recipe.class)))
+                content = @Content(schema = @Schema(implementation = RecipeResponse.class))),
+        @ApiResponse(responseCode = "304", description = "Catalog unchanged since the given ETag"),
+        @ApiResponse(responseCode = "400", description = "Invalid paging parameters, view or fields")
     })
-    @GetMapping(produces = "application/json")
-    public ResponseEntity<?> getAllRecipes() {
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, JacksonConfig.SMILE_VALUE})
+    public ResponseEntity<?> getAllRecipes(
+            @Parameter(description = "Zero-based page number; ignored when after is given")
+            @RequestParam(required = false) Integer page,
+            @Parameter(description = "Page size, capped by the configured maximum")
+            @RequestParam(required = false) Integer size,
+            @Parameter(description = "Cursor returned in X-Next-Cursor by the previous page")
+            @RequestParam(required = false) Long after,
+            @Parameter(description = "Whether to return the total number of recipes in X-Total-Count")
+            @RequestParam(defaultValue = "false") boolean count,
+            @Parameter(description = "Response view: summary, card or full")
+            @RequestParam(defaultValue = "full") String view,
+            @Parameter(description = "Comma-separated fields to return, e.g. id,title; overrides view")
+            @RequestParam(required = false) String fields,
+            HttpServletRequest request) {
         try {
-            logger.info("Getting all recipes");
-            List<Recipe> recipes = recipeService.getAllRecipes();
-            logger.info("Found {} recipes", recipes.size());
-            
-            if (recipes.isEmpty()) {
-                logger.warn("No recipes found in the database");
-                return ResponseEntity.ok()
-                    .contentType(org.springframework.http.MediaType.APPLICATION_JSON)
-                    .body("[]");
-            } else {
-                // Convert to DTOs to avoid circular reference
-                List<Map<String, Object>> recipeDTOs = recipes.stream()
-                    .map(recipe -> {
-                        Map<String, Object> dto = new HashMap<>();
-                        dto.put("id", recipe.getId());
-                        dto.put("title", recipe.getTitle());
-                        dto.put("description", recipe.getDescription());
-                        dto.put("ingredients", recipe.getIngredients());
-                        if (recipe.getCategory() != null) {
-                            Map<String, Object> categoryDto = new HashMap<>();
-                            categoryDto.put("id", recipe.getCategory().getId());
-                            categoryDto.put("name", recipe.getCategory().getName());
-                            categoryDto.put("description", recipe.getCategory().getDescription());
-                            dto.put("category", categoryDto);
-                        }
-                        return dto;
-                    })
-                    .collect(java.util.stream.Collectors.toList());
-                    
-                return ResponseEntity.ok()
-                    .contentType(org.springframework.http.MediaType.APPLICATION_JSON)
-                    .body(recipeDTOs);
+            if (page != null && page < 0) {
+                throw new IllegalArgumentException("page must not be negative");
+            }
+            RecipeView recipeView = RecipeView.from(view);
+            Set<RecipeField> fieldSet = fields != null ? RecipeField.parse(fields) : null;
+            VersionStamp catalog = catalogVersionService.current();
+            String etag = ConditionalRequests.etag("catalog", "recipes", catalog);
+            ResponseEntity.BodyBuilder response = ConditionalRequests.validated(etag, catalog);
+            if (ConditionalRequests.notModified(request, etag, catalog)) {
+                return response.build();
+            }
+            int pageSize = paginationProperties.clamp(size);
+            Pageable pageable = PageRequest.of(page != null ? page : 0, pageSize, Sort.by("id"));
+            logger.info("Getting recipes: page={}, after={}, size={}, view={}, fields={}",
+                page, after, pageSize, recipeView, fieldSet);
+
+            if (fieldSet != null) {
+                return listResponse(response, after != null
+                    ? recipeService.getRecipeFieldsAfter(fieldSet, after, pageSize)
+                    : recipeService.getRecipeFields(fieldSet, pageable), SparseRecipeResponse::getId, count);
             }
+            if (recipeView == RecipeView.SUMMARY) {
+                return listResponse(response, after != null
+                    ? recipeService.getRecipeSummariesAfter(after, pageSize)
+                    : recipeService.getRecipeSummaries(pageable), RecipeSummaryResponse::getId, count);
+            }
+            if (recipeView == RecipeView.CARD) {
+                return listResponse(response, after != null
+                    ? recipeService.getRecipeCardsAfter(after, pageSize)
+                    : recipeService.getRecipeCards(pageable), RecipeCardResponse::getId, count);
+            }
+            Slice<Recipe> recipes = after != null
+                ? recipeService.getRecipesAfter(after, pageSize)
+                : recipeService.getRecipes(pageable);
+            return listResponse(response, recipes.map(RecipeResponse::from), RecipeResponse::getId, count);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid recipe listing request: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             logger.error("Error getting recipes", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -87,24 +167,166 @@ public class RecipeController {
         }
     }
 
-    @Operation(summary = "Get recipe by ID", description = "Retrieve a recipe by its ID")
+    private <T> ResponseEntity<List<T>> listResponse(ResponseEntity.BodyBuilder response, Slice<T> items,
+                                                     Function<T, Long> idOf, boolean count) {
+        logger.info("Found {} recipes", items.getNumberOfElements());
+        if (items.hasNext()) {
+            T last = items.getContent().get(items.getNumberOfElements() - 1);
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(idOf.apply(last)));
+        }
+        if (count) {
+            response.header(TOTAL_COUNT_HEADER, String.valueOf(recipeService.countRecipes()));
+        }
+        return response.body(items.getContent());
+    }
+
+    @Operation(summary = "Export all recipes",
+        description = "Stream every recipe with its category and ingredients as newline-delimited JSON, " +
+                      "one recipe per line in id order. With gzip=true the stream is downloaded as a gzip file " +
+                      "(application/gzip, recipes.ndjson.gz); otherwise it is compressed in transit when the client " +
+                      "accepts it.",
+        security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Export stream"),
+        @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    @GetMapping(value = "/export", produces = {NDJSON, GZIP})
+    @PreAuthorize("hasRole('MODERATOR') or hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportRecipes(
+            @Parameter(description = "Whether to download the stream as a gzip file")
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        logger.info("Exporting all recipes, gzip={}", gzip);
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(out, 64 * 1024);
+                recipeExportService.exportNdjson(compressed);
+                compressed.finish();
+            } else {
+                recipeExportService.exportNdjson(out);
+            }
+        };
+        // The gzip file is the representation itself, not a Content-Encoding, so clients keep it compressed;
+        // the plain stream is left to server.compression, which honours Accept-Encoding
+        return ResponseEntity.ok()
+            .contentType(org.springframework.http.MediaType.parseMediaType(gzip ? GZIP : NDJSON))
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"recipes.ndjson" + (gzip ? ".gz" : "") + "\"")
+            .body(body);
+    }
+
+    @Operation(summary = "Get recipe by ID",
+        description = "Retrieve a recipe by its ID. With fields only the named fields are selected and returned")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved recipe",
                 content = @Content(schema = @Schema(implementation = Recipe.class))),
+        @ApiResponse(responseCode = "304", description = "Recipe unchanged since the given ETag"),
+        @ApiResponse(responseCode = "400", description = "Unknown field"),
         @ApiResponse(responseCode = "404", description = "Recipe not found")
     })
     @GetMapping("/{id}")
-    public ResponseEntity<Recipe> getRecipeById(
-            @Parameter(description = "ID of the recipe to retrieve") @PathVariable Long id) {
+    public ResponseEntity<?> getRecipeById(
+            @Parameter(description = "ID of the recipe to retrieve") @PathVariable Long id,
+            @Parameter(description = "Comma-separated fields to return, e.g. id,title,category")
+            @RequestParam(required = false) String fields,
+            HttpServletRequest request) {
         logger.debug("Getting recipe with id: {}", id);
-        return recipeService.getRecipeById(id)
-                .map(recipe -> {
-                    logger.debug("Found recipe: {}", recipe.getTitle());
-                    return ResponseEntity.ok(recipe);
-                })
+        Set<RecipeField> fieldSet;
+        try {
+            fieldSet = fields != null ? RecipeField.parse(fields) : null;
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+        Optional<VersionStamp> recipeStamp = recipeService.getRecipeVersion(id);
+        if (recipeStamp.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        VersionStamp stamp = recipeStamp.get();
+        String etag;
+        if (fieldSet != null && fieldSet.contains(RecipeField.CATEGORY)) {
+            // The body embeds the category's name and description, which change without the recipe.
+            // Categories have no modification time, but every category write also bumps the catalog
+            Optional<Long> categoryVersion = recipeService.getRecipeCategoryVersion(id);
+            if (categoryVersion.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            etag = ConditionalRequests.etag("recipe", id, stamp, categoryVersion.get());
+            stamp = ConditionalRequests.modifiedAtLatest(stamp, catalogVersionService.current().getModifiedAt());
+        } else {
+            etag = ConditionalRequests.etag("recipe", id, stamp);
+        }
+        if (ConditionalRequests.notModified(request, etag, stamp)) {
+            logger.debug("Recipe {} not modified", id);
+            return ConditionalRequests.validated(etag, stamp).build();
+        }
+        Optional<?> recipe = fieldSet != null
+            ? recipeService.getRecipeFieldsById(fieldSet, id)
+            : recipeService.getRecipeById(id);
+        VersionStamp validatedStamp = stamp;
+        return recipe
+                .<ResponseEntity<?>>map(body -> ConditionalRequests.validated(etag, validatedStamp).body(body))
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @Operation(summary = "Get recipes by ids",
+        description = "Load up to the configured maximum of recipes in one request. Recipes come back in the " +
+                      "order of the requested ids, duplicates once, and ids without a recipe are listed in " +
+                      "missingIds. fields narrows the loaded and returned fields as on the other reads.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved recipes",
+                content = @Content(schema = @Schema(implementation = BatchGetResponse.class))),
+        @ApiResponse(responseCode = "400", description = "No ids, too many ids or unknown field")
+    })
+    @PostMapping("/batch-get")
+    public ResponseEntity<?> batchGetRecipes(
+            @RequestBody BatchGetRequest batchGetRequest,
+            @Parameter(description = "Comma-separated fields to return; all fields by default")
+            @RequestParam(required = false) String fields) {
+        try {
+            List<Long> ids = batchGetRequest != null ? batchGetRequest.getIds() : null;
+            if (ids == null || ids.isEmpty()) {
+                throw new IllegalArgumentException("At least one id is required");
+            }
+            if (ids.size() > paginationProperties.getMaxBatchSize()) {
+                throw new IllegalArgumentException("At most " + paginationProperties.getMaxBatchSize()
+                    + " ids can be requested at once");
+            }
+            Set<RecipeField> fieldSet = fields != null ? RecipeField.parse(fields) : EnumSet.allOf(RecipeField.class);
+            return ResponseEntity.ok(recipeService.getRecipesByIds(ids, fieldSet));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid batch get request: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error in batch get: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("error", "Failed to get recipes: " + e.getMessage()));
+        }
+    }
+
+    @Operation(summary = "Get similar recipes",
+            description = "Recipes with the most similar ingredient sets (Jaccard similarity), most similar first")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved similar recipes",
+                content = @Content(schema = @Schema(implementation = RankedRecipeResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Recipe not found")
+    })
+    @GetMapping("/{id}/similar")
+    public ResponseEntity<?> getSimilarRecipes(
+            @Parameter(description = "ID of the recipe to compare against") @PathVariable Long id,
+            @Parameter(description = "Maximum number of similar recipes to return")
+            @RequestParam(required = false) Integer limit) {
+        try {
+            logger.debug("Getting recipes similar to: {}", id);
+            return recipeService.similarRecipes(id, paginationProperties.clamp(limit))
+                    .<ResponseEntity<?>>map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (Exception e) {
+            logger.error("Error finding similar recipes: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("error", "Failed to find similar recipes: " + e.getMessage()));
+        }
+    }
+
     @Operation(summary = "Create a new recipe", description = "Create a new recipe", security = @SecurityRequirement(name = "bearerAuth"))
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Recipe created successfully",
@@ -202,35 +424,198 @@ public class RecipeController {
         }
     }
 
-    @Operation(summary = "Search recipes", description = "Search recipes by title, description or ingredients")
+    @Operation(summary = "Search recipes",
+            description = "Search recipes by any combination of text, ingredients, excluded ingredients and " +
+                    "categories. Results are paginated; when more results exist the X-Next-Cursor header " +
+                    "carries the cursor of the next page. With fields only the named fields are returned, and " +
+                    "ingredients are only loaded when selected")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved recipes",
-                content = @Content(schema = @Schema(implementation = Recipe.class)))
+                content = @Content(schema = @Schema(implementation = Recipe.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid sort, match mode, cursor or fields")
     })
     @GetMapping("/search")
     public ResponseEntity<?> searchRecipes(
             @Parameter(description = "Query to search in title and description") 
             @RequestParam(required = false) String query,
             @Parameter(description = "Ingredient to search for") 
-            @RequestParam(required = false) String ingredient) {
+            @RequestParam(required = false) String ingredient,
+            @Parameter(description = "Ingredients to search for, combined according to match")
+            @RequestParam(required = false) List<String> ingredients,
+            @Parameter(description = "How to combine ingredients: all or any")
+            @RequestParam(defaultValue = "all") String match,
+            @Parameter(description = "Ingredients the recipes must not contain")
+            @RequestParam(required = false) List<String> exclude,
+            @Parameter(description = "Category ids the recipes must belong to (any of)")
+            @RequestParam(required = false) List<Long> category,
+            @Parameter(description = "Maximum number of recipes per page")
+            @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Cursor returned in X-Next-Cursor by the previous page")
+            @RequestParam(required = false) String after,
+            @Parameter(description = "Sort order: id, title or relevance")
+            @RequestParam(defaultValue = "relevance") String sort,
+            @Parameter(description = "Wrap results as {recipes, categoryFacets} with match counts per category")
+            @RequestParam(defaultValue = "false") boolean facets,
+            @Parameter(description = "Comma-separated fields to return, e.g. id,title")
+            @RequestParam(required = false) String fields) {
         try {
-            logger.info("Searching recipes with query: {}, ingredient: {}", query, ingredient);
-            List<Recipe> recipes;
-            
+            logger.info("Searching recipes with query: {}, ingredient: {}, ingredients: {}, exclude: {}, category: {}",
+                query, ingredient, ingredients, exclude, category);
+            if (!"all".equalsIgnoreCase(match) && !"any".equalsIgnoreCase(match)) {
+                throw new IllegalArgumentException("Unsupported match: " + match + " (expected all or any)");
+            }
+            Set<RecipeField> fieldSet = fields != null ? RecipeField.parse(fields) : null;
+
+            List<String> allIngredients = new ArrayList<>();
             if (ingredient != null && !ingredient.trim().isEmpty()) {
-                recipes = recipeService.searchByIngredient(ingredient);
-            } else if (query != null && !query.trim().isEmpty()) {
-                recipes = recipeService.searchByTitleOrDescription(query);
-            } else {
-                recipes = recipeService.getAllRecipes();
+                allIngredients.add(ingredient);
             }
-            
-            logger.info("Found {} recipes matching the search criteria", recipes.size());
-            return ResponseEntity.ok(recipes);
+            if (ingredients != null) {
+                ingredients.stream().filter(value -> !value.trim().isEmpty()).forEach(allIngredients::add);
+            }
+            RecipeQuery recipeQuery = RecipeQuery.builder()
+                .text(query)
+                .ingredients(allIngredients)
+                .matchAllIngredients("all".equalsIgnoreCase(match))
+                .excludedIngredients(exclude != null ? exclude : List.of())
+                .categoryIds(category != null ? category : List.of())
+                .build();
+
+            SearchSort searchSort = SearchSort.from(sort);
+            SearchCursor cursor = after != null && !after.isEmpty() ? SearchCursor.decode(after) : null;
+            SearchPage<Recipe> page = recipeService.searchRecipes(recipeQuery, searchSort, cursor,
+                paginationProperties.clamp(limit), facets);
+
+            logger.info("Found {} recipes matching the search criteria", page.getItems().size());
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.hasNext()) {
+                response.header(NEXT_CURSOR_HEADER, page.getNext().encode());
+            }
+            List<?> items = fieldSet != null
+                ? page.getItems().stream()
+                    .map(recipe -> SparseRecipeResponse.from(recipe, fieldSet))
+                    .collect(Collectors.toList())
+                : page.getItems();
+            if (facets) {
+                return response.body(new SearchResponse(items, page.getCategoryFacets()));
+            }
+            return response.body(items);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid search request: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             logger.error("Error searching recipes: {}", e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(Map.of("error", "Failed to search recipes: " + e.getMessage()));
         }
     }
-} 
\ No newline at end of file
+
+    @Operation(summary = "Ranked search",
+            description = "Top recipes for the query scored with BM25 over title, description and ingredients, best first")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved ranked recipes",
+                content = @Content(schema = @Schema(implementation = RankedRecipeResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Empty query")
+    })
+    @GetMapping("/search/ranked")
+    public ResponseEntity<?> rankedSearch(
+            @Parameter(description = "Words to look for in titles, descriptions and ingredients")
+            @RequestParam String query,
+            @Parameter(description = "Number of top recipes to return")
+            @RequestParam(required = false) Integer limit) {
+        try {
+            logger.info("Ranked search with query: {}", query);
+            if (query.trim().isEmpty()) {
+                return ResponseEntity.badRequest()
+                    .body(Map.of("error", "Query is required"));
+            }
+
+            return ResponseEntity.ok(recipeService.rankedSearch(query, paginationProperties.clamp(limit)));
+        } catch (Exception e) {
+            logger.error("Error in ranked search: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("error", "Failed to search recipes: " + e.getMessage()));
+        }
+    }
+
+    @Operation(summary = "Fuzzy search recipes",
+            description = "Typo-tolerant search returning the titles and ingredient names most similar to the query")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved similar titles and ingredients",
+                content = @Content(schema = @Schema(implementation = FuzzySearchResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Empty query")
+    })
+    @GetMapping("/search/fuzzy")
+    public ResponseEntity<?> fuzzySearch(
+            @Parameter(description = "Possibly misspelled title or ingredient")
+            @RequestParam String query,
+            @Parameter(description = "Maximum number of titles and of ingredients to return")
+            @RequestParam(required = false) Integer limit) {
+        try {
+            logger.info("Fuzzy searching recipes with query: {}", query);
+            if (query.trim().isEmpty()) {
+                return ResponseEntity.badRequest()
+                    .body(Map.of("error", "Query is required"));
+            }
+
+            return ResponseEntity.ok(recipeService.fuzzySearch(query, paginationProperties.clamp(limit)));
+        } catch (Exception e) {
+            logger.error("Error fuzzy searching recipes: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("error", "Failed to search recipes: " + e.getMessage()));
+        }
+    }
+
+    @Operation(summary = "Suggest completions",
+            description = "Most common recipe titles and ingredient names starting with the given prefix")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved suggestions",
+                content = @Content(schema = @Schema(implementation = SuggestResponse.class)))
+    })
+    @GetMapping("/suggest")
+    public ResponseEntity<?> suggest(
+            @Parameter(description = "Prefix typed so far")
+            @RequestParam String prefix,
+            @Parameter(description = "Maximum number of titles and of ingredients to return")
+            @RequestParam(defaultValue = "5") int limit) {
+        try {
+            int size = Math.max(1, Math.min(limit, SuggestionIndex.MAX_SUGGESTIONS));
+            return ResponseEntity.ok(recipeService.suggest(prefix, size));
+        } catch (Exception e) {
+            logger.error("Error suggesting completions: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("error", "Failed to suggest completions: " + e.getMessage()));
+        }
+    }
+
+    @Operation(summary = "Match recipes to a pantry",
+            description = "Rank recipes by the fraction of their ingredients present in the given set")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully matched recipes",
+                content = @Content(schema = @Schema(implementation = PantryMatchResponse.class))),
+        @ApiResponse(responseCode = "400", description = "No ingredients given")
+    })
+    @GetMapping("/pantry-match")
+    public ResponseEntity<?> matchPantry(
+            @Parameter(description = "Ingredients available in the pantry")
+            @RequestParam List<String> ingredients,
+            @Parameter(description = "Maximum number of recipes to return")
+            @RequestParam(defaultValue = "20") int limit) {
+        try {
+            logger.info("Matching pantry: {}, limit: {}", ingredients, limit);
+            if (ingredients.isEmpty() || limit < 1) {
+                return ResponseEntity.badRequest()
+                    .body(Map.of("error", "At least one ingredient and a positive limit are required"));
+            }
+
+            List<PantryMatchResponse> matches = recipeService.matchPantry(ingredients, Math.min(limit, MAX_PANTRY_MATCHES));
+            logger.info("Found {} recipes matching the pantry", matches.size());
+            return ResponseEntity.ok(matches);
+        } catch (Exception e) {
+            logger.error("Error matching pantry: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("error", "Failed to match pantry: " + e.getMessage()));
+        }
+    }
+}
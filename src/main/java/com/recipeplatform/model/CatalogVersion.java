@@ -0,0 +1,33 @@
+package com.recipeplatform.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.time.Instant;
+
+/**
+ * Single-row modification counter of the whole catalog. Every recipe or category write increments it
+ * in the same transaction, so list responses can be validated with one primary-key lookup.
+ */
+@Entity
+@Table(name = "catalog_version")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogVersion {
+    public static final int ID = 1;
+
+    @Id
+    private Integer id;
+
+    @Column(name = "version", nullable = false)
+    private long version;
+
+    @Column(name = "modified_at", nullable = false)
+    private Instant modifiedAt;
+}
@@ -6,6 +6,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 
 import javax.persistence.*;
 import javax.validation.constraints.NotBlank;
@@ -17,6 +18,7 @@ import java.util.List;
 @Table(name = "categories", uniqueConstraints = {
     @UniqueConstraint(columnNames = "name")
 })
+@BatchSize(size = 100)
 @Schema(description = "Category entity representing a recipe category")
 @Data
 @Builder
@@ -39,6 +41,11 @@ public class Category {
     @Schema(description = "Description of the category", example = "Main course dishes")
     private String description;
 
+    @Version
+    @Column(name = "version")
+    @Schema(description = "Optimistic lock version, incremented on every change", example = "3")
+    private Long version;
+
     @OneToMany(mappedBy = "category", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JsonManagedReference
     @Schema(description = "List of recipes in this category")
@@ -5,8 +5,9 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
+// Comment pages seek on (recipe_id, created_at, id), which the index covers in order
 @Entity
-@Table(name = "comments")
+@Table(name = "comments", indexes = @Index(name = "idx_comments_recipe_created_id", columnList = "recipe_id, created_at, id"))
 @Data
 @NoArgsConstructor
 public class Comment {
@@ -16,11 +17,14 @@ public class Comment {
     
     @Column(columnDefinition = "TEXT", nullable = false)
     private String text;
+
+    @Column(length = 50)
+    private String author;
     
     @Column(name = "created_at")
     private LocalDateTime createdAt = LocalDateTime.now();
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "recipe_id")
     private Recipe recipe;
-} 
\ No newline at end of file
+} 
@@ -0,0 +1,39 @@
+package com.recipeplatform.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.util.HashSet;
+import java.util.Set;
+
+@Entity
+@Table(name = "ingredients", uniqueConstraints = {
+    @UniqueConstraint(columnNames = "name")
+})
+@Schema(description = "Canonical ingredient referenced by recipes through its integer id")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Ingredient {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Schema(description = "Unique identifier of the ingredient", example = "1")
+    private Integer id;
+
+    @Column(name = "name", nullable = false, unique = true)
+    @Schema(description = "Normalized ingredient name", example = "green onion")
+    private String name;
+
+    @ElementCollection
+    @CollectionTable(name = "ingredient_aliases", joinColumns = @JoinColumn(name = "ingredient_id"),
+        uniqueConstraints = @UniqueConstraint(columnNames = "alias"))
+    @Column(name = "alias", nullable = false)
+    @Schema(description = "Normalized alternative names resolving to this ingredient", example = "[\"scallion\"]")
+    @Builder.Default
+    private Set<String> aliases = new HashSet<>();
+}
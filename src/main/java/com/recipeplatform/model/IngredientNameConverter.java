@@ -0,0 +1,42 @@
+package com.recipeplatform.model;
+
+import com.recipeplatform.search.IngredientDictionary;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+
+/**
+ * Stores recipe ingredients as dictionary ids while the entity and the API keep working with names.
+ * Hibernate obtains this converter from the Spring context; the dictionary is resolved lazily because
+ * it is not available yet while the entity manager factory is being built. It runs inside the flush,
+ * so it only looks ids up: names must be interned with {@link IngredientDictionary#internNames} first.
+ */
+@Converter
+public class IngredientNameConverter implements AttributeConverter<String, Integer> {
+
+    private final ObjectProvider<IngredientDictionary> ingredientDictionary;
+
+    @Autowired
+    public IngredientNameConverter(ObjectProvider<IngredientDictionary> ingredientDictionary) {
+        this.ingredientDictionary = ingredientDictionary;
+    }
+
+    @Override
+    public Integer convertToDatabaseColumn(String name) {
+        if (name == null) {
+            return null;
+        }
+        Integer id = ingredientDictionary.getObject().idOf(name);
+        if (id == null) {
+            throw new IllegalStateException("Ingredient was not interned before saving: " + name);
+        }
+        return id;
+    }
+
+    @Override
+    public String convertToEntityAttribute(Integer id) {
+        return id != null ? ingredientDictionary.getObject().nameOf(id) : null;
+    }
+}
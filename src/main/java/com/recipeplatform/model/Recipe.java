@@ -6,21 +6,27 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 
 import javax.persistence.*;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.Size;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "recipes")
+@Table(name = "recipes", indexes = @Index(name = "idx_recipes_category_id", columnList = "category_id"))
+@NamedEntityGraph(name = Recipe.WITH_CATEGORY, attributeNodes = @NamedAttributeNode("category"))
 @Schema(description = "Recipe entity representing a cooking recipe")
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Recipe {
+    // Fetch plan for list and search queries: the category is joined, ingredients load in batches
+    public static final String WITH_CATEGORY = "Recipe.withCategory";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Schema(description = "Unique identifier of the recipe", example = "1")
@@ -39,17 +45,35 @@ public class Recipe {
 
     @ElementCollection
     @CollectionTable(name = "recipe_ingredients", joinColumns = @JoinColumn(name = "recipe_id"))
-    @Column(name = "ingredient")
+    @Column(name = "ingredient_id")
+    @Convert(converter = IngredientNameConverter.class)
+    @BatchSize(size = 100)
     @Schema(description = "List of ingredients for the recipe")
     @Builder.Default
     private List<String> ingredients = new ArrayList<>();
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id", nullable = false)
     @JsonBackReference
     @Schema(description = "Category of the recipe")
     private Category category;
 
+    @Version
+    @Column(name = "version")
+    @Schema(description = "Optimistic lock version, incremented on every change", example = "3")
+    private Long version;
+
+    @Column(name = "updated_at")
+    @Schema(description = "Time of the last change to the recipe", example = "2024-01-01T12:00:00Z")
+    private Instant updatedAt;
+
+    // Drives the incremental replay of persisted search index segments
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        updatedAt = Instant.now();
+    }
+
     public void validate() {
         if (title == null || title.trim().isEmpty()) {
             throw new IllegalArgumentException("Recipe title is required");
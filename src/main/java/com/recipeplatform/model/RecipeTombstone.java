@@ -0,0 +1,29 @@
+package com.recipeplatform.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import java.time.Instant;
+
+/**
+ * Marks a deleted recipe so a search index checkpoint taken before the deletion can drop it on replay.
+ */
+@Entity
+@Table(name = "recipe_tombstones", indexes = @Index(name = "idx_recipe_tombstones_deleted_at", columnList = "deleted_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecipeTombstone {
+    @Id
+    @Column(name = "recipe_id")
+    private Long recipeId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private Instant deletedAt;
+}
@@ -0,0 +1,13 @@
+package com.recipeplatform.model;
+
+import lombok.Value;
+
+import java.time.Instant;
+
+// Version and modification time of a resource, enough to answer a conditional GET without loading it
+@Value
+public class VersionStamp {
+    Long version;
+    // Null when unknown
+    Instant modifiedAt;
+}
@@ -0,0 +1,12 @@
+package com.recipeplatform.payload.request;
+
+import lombok.Data;
+
+import javax.validation.constraints.NotEmpty;
+import java.util.List;
+
+@Data
+public class BatchGetRequest {
+    @NotEmpty
+    private List<Long> ids;
+}
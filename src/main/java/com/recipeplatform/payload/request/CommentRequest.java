@@ -0,0 +1,13 @@
+package com.recipeplatform.payload.request;
+
+import lombok.Data;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.Size;
+
+@Data
+public class CommentRequest {
+    @NotBlank
+    @Size(max = 2000)
+    private String text;
+}
@@ -0,0 +1,13 @@
+package com.recipeplatform.payload.response;
+
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+public class BatchGetResponse {
+    // In request order, each id once
+    List<SparseRecipeResponse> recipes;
+    // Requested ids with no recipe, in request order
+    List<Long> missingIds;
+}
@@ -0,0 +1,11 @@
+package com.recipeplatform.payload.response;
+
+import lombok.Value;
+
+@Value
+public class CategoryCountResponse {
+    Long id;
+    String name;
+    String description;
+    long recipeCount;
+}
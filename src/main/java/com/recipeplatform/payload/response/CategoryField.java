@@ -0,0 +1,14 @@
+package com.recipeplatform.payload.response;
+
+import java.util.EnumSet;
+
+// Category fields a client can ask for with ?fields=
+public enum CategoryField {
+    ID,
+    NAME,
+    DESCRIPTION;
+
+    public static EnumSet<CategoryField> parse(String fields) {
+        return FieldSelection.parse(fields, CategoryField.class, ID);
+    }
+}
@@ -0,0 +1,15 @@
+package com.recipeplatform.payload.response;
+
+import com.recipeplatform.model.Category;
+import lombok.Value;
+
+@Value
+public class CategoryResponse {
+    Long id;
+    String name;
+    String description;
+
+    public static CategoryResponse from(Category category) {
+        return new CategoryResponse(category.getId(), category.getName(), category.getDescription());
+    }
+}
@@ -0,0 +1,36 @@
+package com.recipeplatform.payload.response;
+
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Position of the last comment of a page, handed to clients as an opaque token. Comments are ordered
+ * newest first by creation time and then id, so the pair identifies the row to continue after.
+ */
+@Value
+public class CommentCursor {
+    LocalDateTime createdAt;
+    long id;
+
+    public static CommentCursor of(CommentResponse comment) {
+        return new CommentCursor(comment.getCreatedAt(), comment.getId());
+    }
+
+    public String encode() {
+        String raw = createdAt + "\n" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CommentCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\n", 2);
+            return new CommentCursor(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid comment cursor");
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.recipeplatform.payload.response;
+
+import com.recipeplatform.model.Comment;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+@Value
+public class CommentResponse {
+    Long id;
+    Long recipeId;
+    String text;
+    String author;
+    LocalDateTime createdAt;
+
+    public static CommentResponse from(Comment comment, Long recipeId) {
+        return new CommentResponse(comment.getId(), recipeId, comment.getText(), comment.getAuthor(),
+            comment.getCreatedAt());
+    }
+}
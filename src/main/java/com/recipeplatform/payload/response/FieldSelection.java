@@ -0,0 +1,27 @@
+package com.recipeplatform.payload.response;
+
+import java.util.EnumSet;
+import java.util.Locale;
+
+// Parses a comma-separated fields parameter into the matching enum constants; the id is always selected
+final class FieldSelection {
+    private FieldSelection() {
+    }
+
+    static <E extends Enum<E>> EnumSet<E> parse(String fields, Class<E> type, E id) {
+        EnumSet<E> selected = EnumSet.of(id);
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            try {
+                selected.add(Enum.valueOf(type, name.toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported field: " + name + " (expected any of "
+                    + EnumSet.allOf(type).toString().toLowerCase(Locale.ROOT) + ")");
+            }
+        }
+        return selected;
+    }
+}
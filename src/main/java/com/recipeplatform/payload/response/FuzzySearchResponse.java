@@ -0,0 +1,14 @@
+package com.recipeplatform.payload.response;
+
+import com.recipeplatform.search.FuzzyMatch;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class FuzzySearchResponse {
+    private List<FuzzyMatch> titles;
+    private List<FuzzyMatch> ingredients;
+}
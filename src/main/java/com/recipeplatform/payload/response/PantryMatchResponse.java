@@ -0,0 +1,17 @@
+package com.recipeplatform.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class PantryMatchResponse {
+    private Long id;
+    private String title;
+    private double coverage;
+    private int matchedCount;
+    private int missingCount;
+    private List<String> missingIngredients;
+}
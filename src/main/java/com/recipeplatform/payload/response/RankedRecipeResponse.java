@@ -0,0 +1,16 @@
+package com.recipeplatform.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class RankedRecipeResponse {
+    private Long id;
+    private String title;
+    private String description;
+    private List<String> ingredients;
+    private double score;
+}
@@ -0,0 +1,12 @@
+package com.recipeplatform.payload.response;
+
+import lombok.Value;
+
+@Value
+public class RecipeCardResponse {
+    Long id;
+    String title;
+    String description;
+    Long categoryId;
+    String categoryName;
+}
@@ -0,0 +1,18 @@
+package com.recipeplatform.payload.response;
+
+import java.util.EnumSet;
+
+// Recipe fields a client can ask for with ?fields=; only the selected columns and collections are loaded
+public enum RecipeField {
+    ID,
+    TITLE,
+    DESCRIPTION,
+    // Loaded with a second query, and only when selected
+    INGREDIENTS,
+    // id, name and description of the category
+    CATEGORY;
+
+    public static EnumSet<RecipeField> parse(String fields) {
+        return FieldSelection.parse(fields, RecipeField.class, ID);
+    }
+}
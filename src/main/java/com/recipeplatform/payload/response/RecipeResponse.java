@@ -0,0 +1,22 @@
+package com.recipeplatform.payload.response;
+
+import com.recipeplatform.model.Recipe;
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+public class RecipeResponse {
+    Long id;
+    String title;
+    String description;
+    List<String> ingredients;
+    // Null when the recipe has no category; the field is then left out
+    CategoryResponse category;
+
+    public static RecipeResponse from(Recipe recipe) {
+        return new RecipeResponse(recipe.getId(), recipe.getTitle(), recipe.getDescription(),
+            recipe.getIngredients() != null ? List.copyOf(recipe.getIngredients()) : List.of(),
+            recipe.getCategory() != null ? CategoryResponse.from(recipe.getCategory()) : null);
+    }
+}
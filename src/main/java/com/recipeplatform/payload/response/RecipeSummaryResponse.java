@@ -0,0 +1,19 @@
+package com.recipeplatform.payload.response;
+
+import com.recipeplatform.model.Recipe;
+import lombok.Value;
+
+@Value
+public class RecipeSummaryResponse {
+    Long id;
+    String title;
+    Long categoryId;
+    String categoryName;
+
+    public static RecipeSummaryResponse from(Recipe recipe) {
+        return recipe.getCategory() != null
+            ? new RecipeSummaryResponse(recipe.getId(), recipe.getTitle(), recipe.getCategory().getId(),
+                recipe.getCategory().getName())
+            : new RecipeSummaryResponse(recipe.getId(), recipe.getTitle(), null, null);
+    }
+}
@@ -0,0 +1,21 @@
+package com.recipeplatform.payload.response;
+
+import java.util.Locale;
+
+// How much of a recipe a list response carries, and therefore which projection is queried
+public enum RecipeView {
+    // id, title and category; never reads the description or the ingredients
+    SUMMARY,
+    // summary plus the description
+    CARD,
+    // everything, ingredients included
+    FULL;
+
+    public static RecipeView from(String value) {
+        try {
+            return RecipeView.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new IllegalArgumentException("Unsupported view: " + value + " (expected summary, card or full)");
+        }
+    }
+}
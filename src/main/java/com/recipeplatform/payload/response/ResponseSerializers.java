@@ -0,0 +1,212 @@
+package com.recipeplatform.payload.response;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Hand-written serializers for the list response DTOs. They write fields straight to the generator
+ * with pre-encoded names, with no bean introspection or intermediate maps. The serializers are stateless
+ * and registered once through {@link #module()}.
+ */
+public final class ResponseSerializers {
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString TITLE = new SerializedString("title");
+    private static final SerializedString NAME = new SerializedString("name");
+    private static final SerializedString DESCRIPTION = new SerializedString("description");
+    private static final SerializedString INGREDIENTS = new SerializedString("ingredients");
+    private static final SerializedString CATEGORY = new SerializedString("category");
+    private static final SerializedString CATEGORY_ID = new SerializedString("categoryId");
+    private static final SerializedString CATEGORY_NAME = new SerializedString("categoryName");
+    private static final SerializedString RECIPE_COUNT = new SerializedString("recipeCount");
+
+    private ResponseSerializers() {
+    }
+
+    public static SimpleModule module() {
+        SimpleModule module = new SimpleModule("ResponseSerializers");
+        module.addSerializer(RecipeResponse.class, new RecipeSerializer());
+        module.addSerializer(CategoryResponse.class, new CategorySerializer());
+        module.addSerializer(RecipeSummaryResponse.class, new RecipeSummarySerializer());
+        module.addSerializer(RecipeCardResponse.class, new RecipeCardSerializer());
+        module.addSerializer(CategoryCountResponse.class, new CategoryCountSerializer());
+        module.addSerializer(SparseRecipeResponse.class, new SparseRecipeSerializer());
+        module.addSerializer(SparseCategoryResponse.class, new SparseCategorySerializer());
+        return module;
+    }
+
+    static final class RecipeSerializer extends StdSerializer<RecipeResponse> {
+        RecipeSerializer() {
+            super(RecipeResponse.class);
+        }
+
+        @Override
+        public void serialize(RecipeResponse recipe, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(recipe);
+            writeNumber(gen, ID, recipe.getId());
+            writeString(gen, TITLE, recipe.getTitle());
+            writeString(gen, DESCRIPTION, recipe.getDescription());
+            gen.writeFieldName(INGREDIENTS);
+            gen.writeStartArray(recipe.getIngredients(), recipe.getIngredients().size());
+            for (String ingredient : recipe.getIngredients()) {
+                gen.writeString(ingredient);
+            }
+            gen.writeEndArray();
+            if (recipe.getCategory() != null) {
+                gen.writeFieldName(CATEGORY);
+                writeCategory(gen, recipe.getCategory());
+            }
+            gen.writeEndObject();
+        }
+    }
+
+    static final class CategorySerializer extends StdSerializer<CategoryResponse> {
+        CategorySerializer() {
+            super(CategoryResponse.class);
+        }
+
+        @Override
+        public void serialize(CategoryResponse category, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            writeCategory(gen, category);
+        }
+    }
+
+    static final class RecipeSummarySerializer extends StdSerializer<RecipeSummaryResponse> {
+        RecipeSummarySerializer() {
+            super(RecipeSummaryResponse.class);
+        }
+
+        @Override
+        public void serialize(RecipeSummaryResponse summary, JsonGenerator gen, SerializerProvider provider)
+                throws IOException {
+            gen.writeStartObject(summary);
+            writeNumber(gen, ID, summary.getId());
+            writeString(gen, TITLE, summary.getTitle());
+            writeNumber(gen, CATEGORY_ID, summary.getCategoryId());
+            writeString(gen, CATEGORY_NAME, summary.getCategoryName());
+            gen.writeEndObject();
+        }
+    }
+
+    static final class RecipeCardSerializer extends StdSerializer<RecipeCardResponse> {
+        RecipeCardSerializer() {
+            super(RecipeCardResponse.class);
+        }
+
+        @Override
+        public void serialize(RecipeCardResponse card, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(card);
+            writeNumber(gen, ID, card.getId());
+            writeString(gen, TITLE, card.getTitle());
+            writeString(gen, DESCRIPTION, card.getDescription());
+            writeNumber(gen, CATEGORY_ID, card.getCategoryId());
+            writeString(gen, CATEGORY_NAME, card.getCategoryName());
+            gen.writeEndObject();
+        }
+    }
+
+    static final class CategoryCountSerializer extends StdSerializer<CategoryCountResponse> {
+        CategoryCountSerializer() {
+            super(CategoryCountResponse.class);
+        }
+
+        @Override
+        public void serialize(CategoryCountResponse category, JsonGenerator gen, SerializerProvider provider)
+                throws IOException {
+            gen.writeStartObject(category);
+            writeNumber(gen, ID, category.getId());
+            writeString(gen, NAME, category.getName());
+            writeString(gen, DESCRIPTION, category.getDescription());
+            gen.writeFieldName(RECIPE_COUNT);
+            gen.writeNumber(category.getRecipeCount());
+            gen.writeEndObject();
+        }
+    }
+
+    // Writes only the selected fields; a selected field without a value is written as null
+    static final class SparseRecipeSerializer extends StdSerializer<SparseRecipeResponse> {
+        SparseRecipeSerializer() {
+            super(SparseRecipeResponse.class);
+        }
+
+        @Override
+        public void serialize(SparseRecipeResponse recipe, JsonGenerator gen, SerializerProvider provider)
+                throws IOException {
+            Set<RecipeField> fields = recipe.getFields();
+            gen.writeStartObject(recipe);
+            writeNumber(gen, ID, recipe.getId());
+            if (fields.contains(RecipeField.TITLE)) {
+                writeString(gen, TITLE, recipe.getTitle());
+            }
+            if (fields.contains(RecipeField.DESCRIPTION)) {
+                writeString(gen, DESCRIPTION, recipe.getDescription());
+            }
+            if (fields.contains(RecipeField.INGREDIENTS)) {
+                List<String> ingredients = recipe.getIngredients() != null ? recipe.getIngredients() : List.of();
+                gen.writeFieldName(INGREDIENTS);
+                gen.writeStartArray(ingredients, ingredients.size());
+                for (String ingredient : ingredients) {
+                    gen.writeString(ingredient);
+                }
+                gen.writeEndArray();
+            }
+            if (fields.contains(RecipeField.CATEGORY)) {
+                gen.writeFieldName(CATEGORY);
+                if (recipe.getCategory() != null) {
+                    writeCategory(gen, recipe.getCategory());
+                } else {
+                    gen.writeNull();
+                }
+            }
+            gen.writeEndObject();
+        }
+    }
+
+    static final class SparseCategorySerializer extends StdSerializer<SparseCategoryResponse> {
+        SparseCategorySerializer() {
+            super(SparseCategoryResponse.class);
+        }
+
+        @Override
+        public void serialize(SparseCategoryResponse category, JsonGenerator gen, SerializerProvider provider)
+                throws IOException {
+            gen.writeStartObject(category);
+            writeNumber(gen, ID, category.getId());
+            if (category.getFields().contains(CategoryField.NAME)) {
+                writeString(gen, NAME, category.getName());
+            }
+            if (category.getFields().contains(CategoryField.DESCRIPTION)) {
+                writeString(gen, DESCRIPTION, category.getDescription());
+            }
+            gen.writeEndObject();
+        }
+    }
+
+    private static void writeCategory(JsonGenerator gen, CategoryResponse category) throws IOException {
+        gen.writeStartObject(category);
+        writeNumber(gen, ID, category.getId());
+        writeString(gen, NAME, category.getName());
+        writeString(gen, DESCRIPTION, category.getDescription());
+        gen.writeEndObject();
+    }
+
+    private static void writeNumber(JsonGenerator gen, SerializedString name, Long value) throws IOException {
+        gen.writeFieldName(name);
+        if (value != null) {
+            gen.writeNumber(value);
+        } else {
+            gen.writeNull();
+        }
+    }
+
+    private static void writeString(JsonGenerator gen, SerializedString name, String value) throws IOException {
+        gen.writeFieldName(name);
+        gen.writeString(value);
+    }
+}
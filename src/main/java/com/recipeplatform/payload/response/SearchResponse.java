@@ -0,0 +1,15 @@
+package com.recipeplatform.payload.response;
+
+import com.recipeplatform.search.CategoryFacet;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class SearchResponse {
+    // Recipe entities, or SparseRecipeResponse when fields were requested
+    private List<?> recipes;
+    private List<CategoryFacet> categoryFacets;
+}
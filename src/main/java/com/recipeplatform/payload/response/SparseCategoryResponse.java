@@ -0,0 +1,14 @@
+package com.recipeplatform.payload.response;
+
+import lombok.Value;
+
+import java.util.Set;
+
+// A category reduced to the requested fields; fields outside the selection are null and not serialized
+@Value
+public class SparseCategoryResponse {
+    Set<CategoryField> fields;
+    Long id;
+    String name;
+    String description;
+}
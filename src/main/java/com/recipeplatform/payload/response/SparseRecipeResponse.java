@@ -0,0 +1,28 @@
+package com.recipeplatform.payload.response;
+
+import com.recipeplatform.model.Recipe;
+import lombok.Value;
+
+import java.util.List;
+import java.util.Set;
+
+// A recipe reduced to the requested fields; fields outside the selection are null and not serialized
+@Value
+public class SparseRecipeResponse {
+    Set<RecipeField> fields;
+    Long id;
+    String title;
+    String description;
+    List<String> ingredients;
+    CategoryResponse category;
+
+    // Reads only the selected properties, so unselected lazy associations stay uninitialized
+    public static SparseRecipeResponse from(Recipe recipe, Set<RecipeField> fields) {
+        return new SparseRecipeResponse(fields, recipe.getId(),
+            fields.contains(RecipeField.TITLE) ? recipe.getTitle() : null,
+            fields.contains(RecipeField.DESCRIPTION) ? recipe.getDescription() : null,
+            fields.contains(RecipeField.INGREDIENTS) ? List.copyOf(recipe.getIngredients()) : null,
+            fields.contains(RecipeField.CATEGORY) && recipe.getCategory() != null
+                ? CategoryResponse.from(recipe.getCategory()) : null);
+    }
+}
@@ -0,0 +1,14 @@
+package com.recipeplatform.payload.response;
+
+import com.recipeplatform.search.Suggestion;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class SuggestResponse {
+    private List<Suggestion> titles;
+    private List<Suggestion> ingredients;
+}
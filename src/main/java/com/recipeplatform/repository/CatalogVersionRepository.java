@@ -0,0 +1,16 @@
+package com.recipeplatform.repository;
+
+import com.recipeplatform.model.CatalogVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+
+public interface CatalogVersionRepository extends JpaRepository<CatalogVersion, Integer> {
+    // Returns 0 when the row does not exist yet
+    @Modifying
+    @Query("UPDATE CatalogVersion c SET c.version = c.version + 1, c.modifiedAt = :now WHERE c.id = :id")
+    int increment(@Param("id") Integer id, @Param("now") Instant now);
+}
@@ -0,0 +1,16 @@
+package com.recipeplatform.repository;
+
+import com.recipeplatform.payload.response.CategoryField;
+import com.recipeplatform.payload.response.SparseCategoryResponse;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+// Sparse fieldsets: the SELECT list is built from the requested fields, so unused columns are never read
+public interface CategoryFieldsRepository {
+    // Categories ordered by id, after the cursor when one is given, from offset up to limit rows
+    List<SparseCategoryResponse> findFieldsOrderById(Set<CategoryField> fields, Long afterId, long offset, int limit);
+
+    Optional<SparseCategoryResponse> findFieldsById(Set<CategoryField> fields, Long id);
+}
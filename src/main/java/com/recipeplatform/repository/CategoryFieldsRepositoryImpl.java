@@ -0,0 +1,60 @@
+package com.recipeplatform.repository;
+
+import com.recipeplatform.payload.response.CategoryField;
+import com.recipeplatform.payload.response.SparseCategoryResponse;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Tuple;
+import javax.persistence.TypedQuery;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public class CategoryFieldsRepositoryImpl implements CategoryFieldsRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<SparseCategoryResponse> findFieldsOrderById(Set<CategoryField> fields, Long afterId, long offset,
+                                                            int limit) {
+        TypedQuery<Tuple> query = entityManager.createQuery(select(fields)
+            + (afterId != null ? " WHERE c.id > :afterId" : "") + " ORDER BY c.id", Tuple.class);
+        if (afterId != null) {
+            query.setParameter("afterId", afterId);
+        }
+        query.setFirstResult(Math.toIntExact(offset));
+        query.setMaxResults(limit);
+        return toResponses(fields, query.getResultList());
+    }
+
+    @Override
+    public Optional<SparseCategoryResponse> findFieldsById(Set<CategoryField> fields, Long id) {
+        return toResponses(fields, entityManager.createQuery(select(fields) + " WHERE c.id = :id", Tuple.class)
+            .setParameter("id", id)
+            .getResultList())
+            .stream()
+            .findFirst();
+    }
+
+    private static String select(Set<CategoryField> fields) {
+        return "SELECT c.id"
+            + (fields.contains(CategoryField.NAME) ? ", c.name" : "")
+            + (fields.contains(CategoryField.DESCRIPTION) ? ", c.description" : "")
+            + " FROM Category c";
+    }
+
+    private static List<SparseCategoryResponse> toResponses(Set<CategoryField> fields, List<Tuple> rows) {
+        return rows.stream()
+            .map(row -> {
+                int column = 0;
+                Long id = row.get(column++, Long.class);
+                String name = fields.contains(CategoryField.NAME) ? row.get(column++, String.class) : null;
+                String description = fields.contains(CategoryField.DESCRIPTION) ? row.get(column, String.class) : null;
+                return new SparseCategoryResponse(fields, id, name, description);
+            })
+            .collect(Collectors.toList());
+    }
+}
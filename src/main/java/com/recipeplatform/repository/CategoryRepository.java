@@ -1,7 +1,35 @@
 package com.recipeplatform.repository;
 
 import com.recipeplatform.model.Category;
+import com.recipeplatform.payload.response.CategoryCountResponse;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface CategoryRepository extends JpaRepository<Category, Long> {
-} 
\ No newline at end of file
+import java.util.List;
+import java.util.Optional;
+
+public interface CategoryRepository extends JpaRepository<Category, Long>, CategoryFieldsRepository {
+    // The join only feeds the count; it never initializes Category.recipes
+    String WITH_COUNT = "SELECT new com.recipeplatform.payload.response.CategoryCountResponse(" +
+                        "c.id, c.name, c.description, COUNT(r.id)) FROM Category c LEFT JOIN c.recipes r ";
+    String GROUP_BY_CATEGORY = "GROUP BY c.id, c.name, c.description ";
+
+    // Offset pages without the count query that Page would run
+    Slice<Category> findAllBy(Pageable pageable);
+
+    @Query("SELECT c.version FROM Category c WHERE c.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query("SELECT c FROM Category c WHERE c.id > :afterId ORDER BY c.id")
+    List<Category> findPageOrderById(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Categories with their recipe counts, one GROUP BY per page over idx_recipes_category_id; empty categories count 0
+    @Query(WITH_COUNT + GROUP_BY_CATEGORY)
+    Slice<CategoryCountResponse> findWithRecipeCounts(Pageable pageable);
+
+    @Query(WITH_COUNT + "WHERE c.id > :afterId " + GROUP_BY_CATEGORY + "ORDER BY c.id")
+    List<CategoryCountResponse> findWithRecipeCountsPageOrderById(@Param("afterId") Long afterId, Pageable pageable);
+}
@@ -1,7 +1,28 @@
 package com.recipeplatform.repository;
 
 import com.recipeplatform.model.Comment;
+import com.recipeplatform.payload.response.CommentResponse;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-} 
\ No newline at end of file
+    // c.recipe.id reads the foreign key column; neither the recipe nor the comment entity is loaded
+    String COMMENT_RESPONSE = "SELECT new com.recipeplatform.payload.response.CommentResponse(" +
+                              "c.id, c.recipe.id, c.text, c.author, c.createdAt) FROM Comment c ";
+    String NEWEST_FIRST = "ORDER BY c.createdAt DESC, c.id DESC";
+
+    @Query(COMMENT_RESPONSE + "WHERE c.recipe.id = :recipeId " + NEWEST_FIRST)
+    List<CommentResponse> findPageByRecipeId(@Param("recipeId") Long recipeId, Pageable pageable);
+
+    // Seeks past the last comment of the previous page instead of skipping an offset
+    @Query(COMMENT_RESPONSE + "WHERE c.recipe.id = :recipeId AND (c.createdAt < :createdAt " +
+           "OR (c.createdAt = :createdAt AND c.id < :id)) " + NEWEST_FIRST)
+    List<CommentResponse> findPageByRecipeIdBefore(@Param("recipeId") Long recipeId,
+                                                   @Param("createdAt") LocalDateTime createdAt,
+                                                   @Param("id") Long id, Pageable pageable);
+}
@@ -0,0 +1,16 @@
+package com.recipeplatform.repository;
+
+import com.recipeplatform.payload.response.RecipeField;
+import com.recipeplatform.payload.response.SparseRecipeResponse;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+// Sparse fieldsets: the SELECT list is built from the requested fields, so unused columns are never read
+public interface RecipeFieldsRepository {
+    // Recipes ordered by id, after the cursor when one is given, from offset up to limit rows
+    List<SparseRecipeResponse> findFieldsOrderById(Set<RecipeField> fields, Long afterId, long offset, int limit);
+
+    List<SparseRecipeResponse> findFieldsByIdIn(Set<RecipeField> fields, Collection<Long> ids);
+}
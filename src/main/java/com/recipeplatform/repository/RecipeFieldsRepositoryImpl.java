@@ -0,0 +1,101 @@
+package com.recipeplatform.repository;
+
+import com.recipeplatform.payload.response.CategoryResponse;
+import com.recipeplatform.payload.response.RecipeField;
+import com.recipeplatform.payload.response.SparseRecipeResponse;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Tuple;
+import javax.persistence.TypedQuery;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public class RecipeFieldsRepositoryImpl implements RecipeFieldsRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<SparseRecipeResponse> findFieldsOrderById(Set<RecipeField> fields, Long afterId, long offset,
+                                                          int limit) {
+        TypedQuery<Tuple> query = entityManager.createQuery(select(fields)
+            + (afterId != null ? " WHERE r.id > :afterId" : "") + " ORDER BY r.id", Tuple.class);
+        if (afterId != null) {
+            query.setParameter("afterId", afterId);
+        }
+        query.setFirstResult(Math.toIntExact(offset));
+        query.setMaxResults(limit);
+        return toResponses(fields, query.getResultList());
+    }
+
+    @Override
+    public List<SparseRecipeResponse> findFieldsByIdIn(Set<RecipeField> fields, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return toResponses(fields, entityManager.createQuery(select(fields) + " WHERE r.id IN :ids", Tuple.class)
+            .setParameter("ids", ids)
+            .getResultList());
+    }
+
+    private static String select(Set<RecipeField> fields) {
+        StringBuilder jpql = new StringBuilder("SELECT r.id");
+        if (fields.contains(RecipeField.TITLE)) {
+            jpql.append(", r.title");
+        }
+        if (fields.contains(RecipeField.DESCRIPTION)) {
+            jpql.append(", r.description");
+        }
+        if (fields.contains(RecipeField.CATEGORY)) {
+            jpql.append(", c.id, c.name, c.description FROM Recipe r LEFT JOIN r.category c");
+        } else {
+            jpql.append(" FROM Recipe r");
+        }
+        return jpql.toString();
+    }
+
+    private List<SparseRecipeResponse> toResponses(Set<RecipeField> fields, List<Tuple> rows) {
+        Map<Long, List<String>> ingredients = fields.contains(RecipeField.INGREDIENTS)
+            ? ingredientsOf(rows.stream().map(row -> row.get(0, Long.class)).collect(Collectors.toList()))
+            : null;
+
+        List<SparseRecipeResponse> responses = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            int column = 0;
+            Long id = row.get(column++, Long.class);
+            String title = fields.contains(RecipeField.TITLE) ? row.get(column++, String.class) : null;
+            String description = fields.contains(RecipeField.DESCRIPTION) ? row.get(column++, String.class) : null;
+            CategoryResponse category = null;
+            if (fields.contains(RecipeField.CATEGORY)) {
+                Long categoryId = row.get(column++, Long.class);
+                String name = row.get(column++, String.class);
+                String categoryDescription = row.get(column, String.class);
+                category = categoryId != null ? new CategoryResponse(categoryId, name, categoryDescription) : null;
+            }
+            responses.add(new SparseRecipeResponse(fields, id, title, description,
+                ingredients != null ? ingredients.getOrDefault(id, List.of()) : null, category));
+        }
+        return responses;
+    }
+
+    // One query for the ingredients of the whole page
+    private Map<Long, List<String>> ingredientsOf(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<Long, List<String>> ingredients = new HashMap<>();
+        entityManager.createQuery("SELECT r.id, i FROM Recipe r JOIN r.ingredients i WHERE r.id IN :ids", Tuple.class)
+            .setParameter("ids", ids)
+            .getResultList()
+            .forEach(row -> ingredients.computeIfAbsent(row.get(0, Long.class), key -> new ArrayList<>())
+                .add(row.get(1, String.class)));
+        return ingredients;
+    }
+}
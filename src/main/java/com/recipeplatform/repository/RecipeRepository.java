@@ -2,21 +2,251 @@ package com.recipeplatform.repository;
 
 import com.recipeplatform.model.Category;
 import com.recipeplatform.model.Recipe;
+import com.recipeplatform.model.VersionStamp;
+import com.recipeplatform.payload.response.RecipeCardResponse;
+import com.recipeplatform.payload.response.RecipeSummaryResponse;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.QueryHint;
+
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface RecipeRepository extends JpaRepository<Recipe, Long> {
+public interface RecipeRepository extends JpaRepository<Recipe, Long>, RecipeFieldsRepository,
+        RecipeSearchRepository {
+    String TEXT_MATCH = "(LOWER(r.title) LIKE LOWER(CONCAT('%', :query, '%')) " +
+                        "OR LOWER(r.description) LIKE LOWER(CONCAT('%', :query, '%')))";
+    String TITLE_MATCH_RANK = "CASE WHEN LOWER(r.title) LIKE LOWER(CONCAT('%', :query, '%')) THEN 1 ELSE 0 END";
+    String AFTER_RANK = "(" + TITLE_MATCH_RANK + " < :afterRank " +
+                        "OR (" + TITLE_MATCH_RANK + " = :afterRank AND r.id > :afterId))";
+    String AFTER_TITLE = "(r.title > :afterTitle OR (r.title = :afterTitle AND r.id > :afterId))";
+    String SUMMARY = "SELECT new com.recipeplatform.payload.response.RecipeSummaryResponse(" +
+                     "r.id, r.title, c.id, c.name) FROM Recipe r JOIN r.category c ";
+    String CARD = "SELECT new com.recipeplatform.payload.response.RecipeCardResponse(" +
+                  "r.id, r.title, r.description, c.id, c.name) FROM Recipe r JOIN r.category c ";
+    String FULL_TEXT_FROM = "FROM recipes r, to_tsquery('simple', :tsQuery) q WHERE r.search_vector @@ q ";
+
+    @Override
+    @EntityGraph(Recipe.WITH_CATEGORY)
+    List<Recipe> findAll();
+
+    @Override
+    @EntityGraph(Recipe.WITH_CATEGORY)
+    List<Recipe> findAllById(Iterable<Long> ids);
+
+    @EntityGraph(Recipe.WITH_CATEGORY)
     List<Recipe> findByTitleContainingIgnoreCase(String title);
+
+    @EntityGraph(Recipe.WITH_CATEGORY)
     List<Recipe> findByDescriptionContainingIgnoreCase(String description);
-    List<Recipe> findByIngredientsContainingIgnoreCase(String ingredient);
+
+    @Query(value = "SELECT DISTINCT r.* FROM recipes r " +
+                   "JOIN recipe_ingredients ri ON ri.recipe_id = r.id " +
+                   "JOIN ingredients i ON i.id = ri.ingredient_id " +
+                   "WHERE i.name LIKE CONCAT('%', LOWER(:ingredient), '%')",
+           nativeQuery = true)
+    List<Recipe> findByIngredientsContainingIgnoreCase(@Param("ingredient") String ingredient);
+
+    @EntityGraph(Recipe.WITH_CATEGORY)
     List<Recipe> findByCategoryId(Long categoryId);
+
+    @Query(value = "SELECT r.* FROM recipes r, to_tsquery('simple', :tsQuery) q " +
+                   "WHERE r.search_vector @@ q " +
+                   "ORDER BY ts_rank(r.search_vector, q) DESC, r.id",
+           nativeQuery = true)
+    List<Recipe> searchFullText(@Param("tsQuery") String tsQuery);
+
+    @Query("SELECT r.id FROM Recipe r WHERE " + TEXT_MATCH)
+    List<Long> findIdsMatchingText(@Param("query") String query);
+
+    @Query("SELECT r.id FROM Recipe r WHERE r.id IN :ids AND " + TEXT_MATCH)
+    List<Long> findIdsMatchingTextIn(@Param("query") String query, @Param("ids") Collection<Long> ids);
+
+    @Query(value = "SELECT r.id " + FULL_TEXT_FROM, nativeQuery = true)
+    List<Number> findIdsMatchingFullText(@Param("tsQuery") String tsQuery);
+
+    @Query(value = "SELECT r.id " + FULL_TEXT_FROM + "AND r.id IN (:ids)", nativeQuery = true)
+    List<Number> findIdsMatchingFullTextIn(@Param("tsQuery") String tsQuery, @Param("ids") Collection<Long> ids);
+
+    // Category facet counts: rows of (category id, recipe count)
+
+    @Query("SELECT r.category.id, COUNT(r) FROM Recipe r GROUP BY r.category.id")
+    List<Object[]> countByCategory();
+
+    @Query("SELECT r.category.id, COUNT(r) FROM Recipe r WHERE " + TEXT_MATCH + " GROUP BY r.category.id")
+    List<Object[]> countByCategoryMatchingText(@Param("query") String query);
+
+    @Query(value = "SELECT r.category_id, COUNT(*) " + FULL_TEXT_FROM + "GROUP BY r.category_id", nativeQuery = true)
+    List<Object[]> countByCategoryMatchingFullText(@Param("tsQuery") String tsQuery);
+
+    // Offset pages without the count query that Page would run
+    @EntityGraph(Recipe.WITH_CATEGORY)
+    @QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.READ_ONLY, value = "true"))
+    Slice<Recipe> findAllBy(Pageable pageable);
+
+    // Keyset pages: fetch the rows strictly after the cursor position, the page size comes from Pageable
+    @EntityGraph(Recipe.WITH_CATEGORY)
+    @QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.READ_ONLY, value = "true"))
+    @Query("SELECT r FROM Recipe r WHERE r.id > :afterId ORDER BY r.id")
+    List<Recipe> findPageOrderById(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Conditional GETs compare this against the client's ETag before loading the recipe
+    @Query("SELECT new com.recipeplatform.model.VersionStamp(r.version, r.updatedAt) FROM Recipe r WHERE r.id = :id")
+    Optional<VersionStamp> findVersionStampById(@Param("id") Long id);
+
+    @Query("SELECT c.version FROM Recipe r JOIN r.category c WHERE r.id = :id")
+    Optional<Long> findCategoryVersionById(@Param("id") Long id);
+
+    // Projections: plain DTOs, never managed, so there is nothing to dirty-check
+
+    @Query(SUMMARY)
+    Slice<RecipeSummaryResponse> findSummaries(Pageable pageable);
+
+    @Query(SUMMARY + "WHERE r.id > :afterId ORDER BY r.id")
+    List<RecipeSummaryResponse> findSummaryPageOrderById(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query(SUMMARY + "WHERE r.id IN :ids")
+    List<RecipeSummaryResponse> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(CARD)
+    Slice<RecipeCardResponse> findCards(Pageable pageable);
+
+    @Query(CARD + "WHERE r.id > :afterId ORDER BY r.id")
+    List<RecipeCardResponse> findCardPageOrderById(@Param("afterId") Long afterId, Pageable pageable);
+
+    @EntityGraph(Recipe.WITH_CATEGORY)
+    @Query("SELECT r FROM Recipe r WHERE " + AFTER_TITLE + " ORDER BY r.title, r.id")
+    List<Recipe> findPageOrderByTitle(@Param("afterTitle") String afterTitle, @Param("afterId") Long afterId,
+                                      Pageable pageable);
+
+    // Title order without loading recipes, for candidate sets too large to bind as an IN list
+    @Query("SELECT r.id, r.title FROM Recipe r WHERE " + AFTER_TITLE + " ORDER BY r.title, r.id")
+    List<Object[]> findTitleKeysOrderByTitle(@Param("afterTitle") String afterTitle, @Param("afterId") Long afterId,
+                                             Pageable pageable);
+
+    @EntityGraph(Recipe.WITH_CATEGORY)
+    @Query("SELECT r FROM Recipe r WHERE r.id IN :ids AND " + AFTER_TITLE + " ORDER BY r.title, r.id")
+    List<Recipe> findPageByIdInOrderByTitle(@Param("ids") Collection<Long> ids, @Param("afterTitle") String afterTitle,
+                                            @Param("afterId") Long afterId, Pageable pageable);
+
+    @EntityGraph(Recipe.WITH_CATEGORY)
+    @Query("SELECT r FROM Recipe r WHERE " + TEXT_MATCH + " AND r.id > :afterId ORDER BY r.id")
+    List<Recipe> searchPageOrderById(@Param("query") String query, @Param("afterId") Long afterId, Pageable pageable);
+
+    @EntityGraph(Recipe.WITH_CATEGORY)
+    @Query("SELECT r FROM Recipe r WHERE " + TEXT_MATCH + " AND " + AFTER_TITLE + " ORDER BY r.title, r.id")
+    List<Recipe> searchPageOrderByTitle(@Param("query") String query, @Param("afterTitle") String afterTitle,
+                                        @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT r, " + TITLE_MATCH_RANK + " FROM Recipe r WHERE " + TEXT_MATCH + " AND " + AFTER_RANK +
+           " ORDER BY " + TITLE_MATCH_RANK + " DESC, r.id")
+    List<Object[]> searchPageOrderByRelevance(@Param("query") String query, @Param("afterRank") Integer afterRank,
+                                              @Param("afterId") Long afterId, Pageable pageable);
+
+    // Ranked candidate pages: rows of (id, rank), restricted to a candidate set or scanned in rank order
+
+    @Query("SELECT r.id, " + TITLE_MATCH_RANK + " FROM Recipe r WHERE " + TEXT_MATCH + " AND " + AFTER_RANK +
+           " ORDER BY " + TITLE_MATCH_RANK + " DESC, r.id")
+    List<Object[]> searchRankPageOrderByRelevance(@Param("query") String query, @Param("afterRank") Integer afterRank,
+                                                  @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT r.id, " + TITLE_MATCH_RANK + " FROM Recipe r WHERE r.id IN :ids AND " + TEXT_MATCH + " AND " +
+           AFTER_RANK + " ORDER BY " + TITLE_MATCH_RANK + " DESC, r.id")
+    List<Object[]> searchRankPageByIdInOrderByRelevance(@Param("query") String query,
+                                                        @Param("ids") Collection<Long> ids,
+                                                        @Param("afterRank") Integer afterRank,
+                                                        @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query(value = "SELECT r.id, ts_rank(r.search_vector, q) AS rank " + FULL_TEXT_FROM + "AND r.id IN (:ids) " +
+                   "AND (ts_rank(r.search_vector, q) < CAST(:afterRank AS real) " +
+                   "OR (ts_rank(r.search_vector, q) = CAST(:afterRank AS real) AND r.id > :afterId)) " +
+                   "ORDER BY rank DESC, r.id LIMIT :limit",
+           nativeQuery = true)
+    List<Object[]> searchFullTextPageByIdInOrderByRelevance(@Param("tsQuery") String tsQuery,
+                                                            @Param("ids") Collection<Long> ids,
+                                                            @Param("afterRank") float afterRank,
+                                                            @Param("afterId") Long afterId, @Param("limit") int limit);
+
+    @Query(value = "SELECT r.id, ts_rank(r.search_vector, q) " + FULL_TEXT_FROM +
+                   "AND r.id > :afterId ORDER BY r.id LIMIT :limit",
+           nativeQuery = true)
+    List<Object[]> searchFullTextPageOrderById(@Param("tsQuery") String tsQuery, @Param("afterId") Long afterId,
+                                               @Param("limit") int limit);
+
+    @Query(value = "SELECT r.id, ts_rank(r.search_vector, q) " + FULL_TEXT_FROM +
+                   "AND (r.title, r.id) > (:afterTitle, :afterId) ORDER BY r.title, r.id LIMIT :limit",
+           nativeQuery = true)
+    List<Object[]> searchFullTextPageOrderByTitle(@Param("tsQuery") String tsQuery,
+                                                  @Param("afterTitle") String afterTitle,
+                                                  @Param("afterId") Long afterId, @Param("limit") int limit);
+
+    @Query(value = "SELECT r.id, ts_rank(r.search_vector, q) AS rank " + FULL_TEXT_FROM +
+                   "AND (ts_rank(r.search_vector, q) < CAST(:afterRank AS real) " +
+                   "OR (ts_rank(r.search_vector, q) = CAST(:afterRank AS real) AND r.id > :afterId)) " +
+                   "ORDER BY rank DESC, r.id LIMIT :limit",
+           nativeQuery = true)
+    List<Object[]> searchFullTextPageOrderByRelevance(@Param("tsQuery") String tsQuery,
+                                                      @Param("afterRank") float afterRank,
+                                                      @Param("afterId") Long afterId, @Param("limit") int limit);
+
+    // Sets pg_trgm.similarity_threshold, where the % operator cuts off, for the caller's transaction only
+    @Query(value = "SELECT set_config('pg_trgm.similarity_threshold', CAST(:threshold AS text), true)",
+           nativeQuery = true)
+    String setSimilarityThreshold(@Param("threshold") double threshold);
+
+    // Trigram similarity through pg_trgm; % is answered from idx_recipes_title_trgm, and the similarity bound
+    // keeps the configured threshold even when setSimilarityThreshold was not called first
+    @Query(value = "SELECT r.id, r.title, similarity(lower(r.title), :query) AS score FROM recipes r " +
+                   "WHERE lower(r.title) % :query AND similarity(lower(r.title), :query) >= :threshold " +
+                   "ORDER BY score DESC, r.id LIMIT :limit",
+           nativeQuery = true)
+    List<Object[]> findSimilarTitles(@Param("query") String query, @Param("threshold") double threshold,
+                                     @Param("limit") int limit);
+
+    // Same as findSimilarTitles over idx_ingredients_name_trgm, limited to ingredients some recipe uses
+    @Query(value = "SELECT i.name, similarity(i.name, :query) AS score FROM ingredients i " +
+                   "WHERE i.name % :query AND similarity(i.name, :query) >= :threshold " +
+                   "AND EXISTS (SELECT 1 FROM recipe_ingredients ri WHERE ri.ingredient_id = i.id) " +
+                   "ORDER BY score DESC, i.name LIMIT :limit",
+           nativeQuery = true)
+    List<Object[]> findSimilarIngredients(@Param("query") String query, @Param("threshold") double threshold,
+                                          @Param("limit") int limit);
+
+    @EntityGraph(Recipe.WITH_CATEGORY)
+    @Query("SELECT r FROM Recipe r " +
+           "WHERE LOWER(r.title) LIKE LOWER(CONCAT('%', :query, '%')) " +
+           "OR LOWER(r.description) LIKE LOWER(CONCAT('%', :query, '%')) " +
+           "ORDER BY CASE WHEN LOWER(r.title) LIKE LOWER(CONCAT('%', :query, '%')) THEN 0 ELSE 1 END, r.id")
+    List<Recipe> searchByTitleOrDescription(@Param("query") String query);
+
+    @Query("SELECT r.id, i FROM Recipe r JOIN r.ingredients i")
+    List<Object[]> findAllIngredientRows();
+
+    @Query("SELECT r.id, r.title, r.description, r.category.id FROM Recipe r")
+    List<Object[]> findAllDocumentRows();
+
+    // Delta since a search index checkpoint, same row shapes as the full scans above
+
+    @Query("SELECT r.id, i FROM Recipe r JOIN r.ingredients i WHERE r.updatedAt > :since")
+    List<Object[]> findIngredientRowsUpdatedAfter(@Param("since") Instant since);
+
+    @Query("SELECT r.id, r.title, r.description, r.category.id FROM Recipe r WHERE r.updatedAt > :since")
+    List<Object[]> findDocumentRowsUpdatedAfter(@Param("since") Instant since);
+
+    @Query("SELECT r.id FROM Recipe r WHERE r.category.id = :categoryId")
+    List<Long> findIdsByCategoryId(@Param("categoryId") Long categoryId);
     
     @Modifying
     @Transactional
@@ -0,0 +1,19 @@
+package com.recipeplatform.repository;
+
+import com.recipeplatform.search.SearchCursor;
+import com.recipeplatform.search.SearchSort;
+
+import java.util.Collection;
+import java.util.List;
+
+// Searches with excluded ingredients but no ingredient or category filter to enumerate candidates from: the
+// whole predicate runs in SQL, exclusions as NOT EXISTS, so a page reads a page of rows however big the catalog
+public interface RecipeSearchRepository {
+    // Rows of (id, rank) after the cursor in its sort order, up to limit. The text is matched with LIKE, or is
+    // a tsquery when fullText is set; without text every recipe matches and relevance falls back to id order
+    List<Object[]> searchPageExcluding(String text, boolean fullText, Collection<String> excludedIngredients,
+                                       SearchCursor after, int limit);
+
+    // Category facet counts of the same search: rows of (category id, recipe count)
+    List<Object[]> countByCategoryExcluding(String text, boolean fullText, Collection<String> excludedIngredients);
+}
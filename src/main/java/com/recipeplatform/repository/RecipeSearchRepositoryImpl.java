@@ -0,0 +1,95 @@
+package com.recipeplatform.repository;
+
+import com.recipeplatform.search.SearchCursor;
+import com.recipeplatform.search.SearchSort;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+public class RecipeSearchRepositoryImpl implements RecipeSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Object[]> searchPageExcluding(String text, boolean fullText, Collection<String> excludedIngredients,
+                                              SearchCursor after, int limit) {
+        String rank = text == null ? "0" :
+            fullText ? "ts_rank(r.search_vector, q)" : RecipeRepository.TITLE_MATCH_RANK;
+        StringBuilder sql = new StringBuilder("SELECT r.id, ").append(rank).append(" AS rank ")
+            .append(from(text, fullText, excludedIngredients.size()));
+        SearchSort sort = after.getSort() == SearchSort.RELEVANCE && text == null ? SearchSort.ID : after.getSort();
+        switch (sort) {
+            case TITLE:
+                sql.append(" AND ").append(RecipeRepository.AFTER_TITLE).append(" ORDER BY r.title, r.id");
+                break;
+            case RELEVANCE:
+                String afterRank = fullText ? "CAST(:afterRank AS real)" : ":afterRank";
+                sql.append(" AND (").append(rank).append(" < ").append(afterRank)
+                    .append(" OR (").append(rank).append(" = ").append(afterRank).append(" AND r.id > :afterId))")
+                    .append(" ORDER BY rank DESC, r.id");
+                break;
+            default:
+                sql.append(" AND r.id > :afterId ORDER BY r.id");
+        }
+
+        Query query = bind(entityManager.createNativeQuery(sql.toString()), text, fullText, excludedIngredients)
+            .setParameter("afterId", after.getId())
+            .setMaxResults(limit);
+        if (sort == SearchSort.TITLE) {
+            query.setParameter("afterTitle", after.getTitle());
+        } else if (sort == SearchSort.RELEVANCE && fullText) {
+            query.setParameter("afterRank", after.getRank());
+        } else if (sort == SearchSort.RELEVANCE) {
+            // A LIKE rank is 0 or 1, so the rank of a first-page cursor is capped to fit an integer
+            query.setParameter("afterRank", (int) Math.min(after.getRank(), 2));
+        }
+        return query.getResultList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Object[]> countByCategoryExcluding(String text, boolean fullText,
+                                                   Collection<String> excludedIngredients) {
+        String sql = "SELECT r.category_id, COUNT(*) " + from(text, fullText, excludedIngredients.size()) +
+                     " GROUP BY r.category_id";
+        return bind(entityManager.createNativeQuery(sql), text, fullText, excludedIngredients).getResultList();
+    }
+
+    // Ingredient names are stored normalized, so a substring LIKE matches the way the ingredient index does
+    private static String from(String text, boolean fullText, int excludedCount) {
+        StringBuilder sql = new StringBuilder();
+        if (text == null) {
+            sql.append("FROM recipes r WHERE ");
+        } else if (fullText) {
+            sql.append(RecipeRepository.FULL_TEXT_FROM).append("AND ");
+        } else {
+            sql.append("FROM recipes r WHERE ").append(RecipeRepository.TEXT_MATCH).append(" AND ");
+        }
+        if (excludedCount == 0) {
+            return sql.append("1 = 1").toString();
+        }
+        sql.append("NOT EXISTS (SELECT 1 FROM recipe_ingredients ri JOIN ingredients i ON i.id = ri.ingredient_id ")
+            .append("WHERE ri.recipe_id = r.id AND (");
+        for (int i = 0; i < excludedCount; i++) {
+            sql.append(i > 0 ? " OR " : "").append("i.name LIKE CONCAT('%', :excluded").append(i).append(", '%')");
+        }
+        return sql.append("))").toString();
+    }
+
+    private static Query bind(Query query, String text, boolean fullText, Collection<String> excludedIngredients) {
+        if (text != null) {
+            query.setParameter(fullText ? "tsQuery" : "query", text);
+        }
+        List<String> excluded = new ArrayList<>(excludedIngredients);
+        for (int i = 0; i < excluded.size(); i++) {
+            query.setParameter("excluded" + i, excluded.get(i));
+        }
+        return query;
+    }
+}
@@ -0,0 +1,22 @@
+package com.recipeplatform.repository;
+
+import com.recipeplatform.model.RecipeTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface RecipeTombstoneRepository extends JpaRepository<RecipeTombstone, Long> {
+
+    @Query("SELECT t.recipeId FROM RecipeTombstone t WHERE t.deletedAt > :since")
+    List<Long> findRecipeIdsDeletedAfter(@Param("since") Instant since);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RecipeTombstone t WHERE t.deletedAt < :before")
+    int deleteOlderThan(@Param("before") Instant before);
+}
@@ -0,0 +1,209 @@
+package com.recipeplatform.search;
+
+import com.recipeplatform.config.SearchProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * BM25F ranking over recipe title, description and ingredients. Per-field term frequencies are
+ * length-normalized against the field's average length, weighted by the field boost and summed before
+ * the k1 saturation, so a term repeated across fields is not counted as independent evidence.
+ * Only the top-k recipes are kept, in a bounded min-heap.
+ */
+@Component
+public class Bm25Index implements RecipeIndex {
+    private static final Logger logger = LoggerFactory.getLogger(Bm25Index.class);
+
+    private static final int TITLE = 0;
+    private static final int DESCRIPTION = 1;
+    private static final int INGREDIENTS = 2;
+    private static final int FIELDS = 3;
+
+    private static final Comparator<ScoredRecipe> WORST_FIRST = Comparator
+        .comparingDouble(ScoredRecipe::getScore)
+        .thenComparing(ScoredRecipe::getRecipeId, Comparator.reverseOrder());
+
+    private final SearchProperties searchProperties;
+
+    // Term -> recipe id -> term frequency per field
+    private final Map<String, Map<Long, int[]>> postings = new HashMap<>();
+    private final Map<Long, Set<String>> termsByRecipe = new HashMap<>();
+    private final Map<Long, int[]> fieldLengths = new HashMap<>();
+    private final long[] totalFieldLengths = new long[FIELDS];
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Autowired
+    public Bm25Index(SearchProperties searchProperties) {
+        this.searchProperties = searchProperties;
+    }
+
+    @Override
+    public void rebuild(Collection<RecipeDocument> documents) {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            termsByRecipe.clear();
+            fieldLengths.clear();
+            Arrays.fill(totalFieldLengths, 0);
+            documents.forEach(this::put);
+            logger.info("Built BM25 index: {} recipes, {} terms", fieldLengths.size(), postings.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void index(RecipeDocument document) {
+        lock.writeLock().lock();
+        try {
+            evict(document.getId());
+            put(document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long recipeId) {
+        lock.writeLock().lock();
+        try {
+            evict(recipeId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the {@code limit} best-scoring recipes for the query, best first; equal scores go to the lower id.
+     */
+    public List<ScoredRecipe> search(String query, int limit) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(query));
+        if (terms.isEmpty() || limit < 1) {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+        try {
+            int documentCount = fieldLengths.size();
+            if (documentCount == 0) {
+                return Collections.emptyList();
+            }
+            double[] boosts = {searchProperties.getBm25TitleBoost(), searchProperties.getBm25DescriptionBoost(),
+                searchProperties.getBm25IngredientBoost()};
+            double[] averageLengths = new double[FIELDS];
+            for (int field = 0; field < FIELDS; field++) {
+                averageLengths[field] = Math.max(1.0, (double) totalFieldLengths[field] / documentCount);
+            }
+            double k1 = searchProperties.getBm25K1();
+            double b = searchProperties.getBm25B();
+
+            Map<Long, Double> scores = new HashMap<>();
+            for (String term : terms) {
+                Map<Long, int[]> frequencies = postings.get(term);
+                if (frequencies == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (documentCount - frequencies.size() + 0.5) / (frequencies.size() + 0.5));
+                frequencies.forEach((recipeId, tf) -> {
+                    int[] lengths = fieldLengths.get(recipeId);
+                    double weighted = 0;
+                    for (int field = 0; field < FIELDS; field++) {
+                        if (tf[field] > 0) {
+                            weighted += boosts[field] * tf[field] / (1 - b + b * lengths[field] / averageLengths[field]);
+                        }
+                    }
+                    scores.merge(recipeId, idf * weighted / (k1 + weighted), Double::sum);
+                });
+            }
+
+            PriorityQueue<ScoredRecipe> top = new PriorityQueue<>(limit + 1, WORST_FIRST);
+            scores.forEach((recipeId, score) -> {
+                ScoredRecipe candidate = new ScoredRecipe(recipeId, score);
+                if (top.size() < limit) {
+                    top.add(candidate);
+                } else if (WORST_FIRST.compare(candidate, top.peek()) > 0) {
+                    top.poll();
+                    top.add(candidate);
+                }
+            });
+
+            List<ScoredRecipe> result = new ArrayList<>(top);
+            result.sort(WORST_FIRST.reversed());
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        String normalized = TermNormalizer.normalize(text);
+        if (normalized.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return Arrays.stream(normalized.split("[^\\p{L}\\p{N}]+"))
+            .filter(token -> !token.isEmpty())
+            .collect(Collectors.toList());
+    }
+
+    private void put(RecipeDocument document) {
+        if (document.getId() == null) {
+            return;
+        }
+        int[] lengths = new int[FIELDS];
+        addField(document.getId(), TITLE, tokenize(document.getTitle()), lengths);
+        addField(document.getId(), DESCRIPTION, tokenize(document.getDescription()), lengths);
+        List<String> ingredientTokens = new ArrayList<>();
+        document.getIngredients().forEach(ingredient -> ingredientTokens.addAll(tokenize(ingredient)));
+        addField(document.getId(), INGREDIENTS, ingredientTokens, lengths);
+
+        fieldLengths.put(document.getId(), lengths);
+        for (int field = 0; field < FIELDS; field++) {
+            totalFieldLengths[field] += lengths[field];
+        }
+    }
+
+    private void addField(Long recipeId, int field, List<String> tokens, int[] lengths) {
+        lengths[field] = tokens.size();
+        Set<String> terms = termsByRecipe.computeIfAbsent(recipeId, key -> new HashSet<>());
+        for (String token : tokens) {
+            terms.add(token);
+            postings.computeIfAbsent(token, key -> new HashMap<>())
+                .computeIfAbsent(recipeId, key -> new int[FIELDS])[field]++;
+        }
+    }
+
+    private void evict(Long recipeId) {
+        int[] lengths = fieldLengths.remove(recipeId);
+        if (lengths == null) {
+            return;
+        }
+        for (int field = 0; field < FIELDS; field++) {
+            totalFieldLengths[field] -= lengths[field];
+        }
+        for (String term : termsByRecipe.remove(recipeId)) {
+            Map<Long, int[]> frequencies = postings.get(term);
+            frequencies.remove(recipeId);
+            if (frequencies.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.recipeplatform.search;
+
+import lombok.Value;
+
+@Value
+public class CategoryFacet {
+    Long categoryId;
+    String name;
+    long count;
+}
@@ -0,0 +1,130 @@
+package com.recipeplatform.search;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Recipe ids per category, used to intersect category filters with other search predicates.
+ */
+@Component
+public class CategoryIndex implements RecipeIndex {
+
+    private final Map<Long, Set<Long>> recipesByCategory = new HashMap<>();
+    private final Map<Long, Long> categoryByRecipe = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Override
+    public void rebuild(Collection<RecipeDocument> documents) {
+        lock.writeLock().lock();
+        try {
+            recipesByCategory.clear();
+            categoryByRecipe.clear();
+            documents.forEach(this::put);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void index(RecipeDocument document) {
+        lock.writeLock().lock();
+        try {
+            evict(document.getId());
+            put(document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long recipeId) {
+        lock.writeLock().lock();
+        try {
+            evict(recipeId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public SortedSet<Long> recipesIn(Collection<Long> categoryIds) {
+        lock.readLock().lock();
+        try {
+            SortedSet<Long> result = new TreeSet<>();
+            for (Long categoryId : categoryIds) {
+                result.addAll(recipesByCategory.getOrDefault(categoryId, Set.of()));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Recipes in the categories, as a cost estimate before anything is materialized
+    public int count(Collection<Long> categoryIds) {
+        lock.readLock().lock();
+        try {
+            int count = 0;
+            for (Long categoryId : new HashSet<>(categoryIds)) {
+                count += recipesByCategory.getOrDefault(categoryId, Set.of()).size();
+            }
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Probes the category of each candidate rather than copying the category members
+    public void retainIn(Collection<Long> candidates, Collection<Long> categoryIds) {
+        Set<Long> categories = new HashSet<>(categoryIds);
+        lock.readLock().lock();
+        try {
+            candidates.removeIf(recipeId -> !categories.contains(categoryByRecipe.get(recipeId)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Map<Long, Long> countByCategory(Collection<Long> recipeIds) {
+        lock.readLock().lock();
+        try {
+            Map<Long, Long> counts = new HashMap<>();
+            for (Long recipeId : recipeIds) {
+                Long categoryId = categoryByRecipe.get(recipeId);
+                if (categoryId != null) {
+                    counts.merge(categoryId, 1L, Long::sum);
+                }
+            }
+            return counts;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void put(RecipeDocument document) {
+        if (document.getId() == null || document.getCategoryId() == null) {
+            return;
+        }
+        recipesByCategory.computeIfAbsent(document.getCategoryId(), id -> new TreeSet<>()).add(document.getId());
+        categoryByRecipe.put(document.getId(), document.getCategoryId());
+    }
+
+    private void evict(Long recipeId) {
+        Long categoryId = categoryByRecipe.remove(recipeId);
+        if (categoryId == null) {
+            return;
+        }
+        Set<Long> ids = recipesByCategory.get(categoryId);
+        if (ids != null && ids.remove(recipeId) && ids.isEmpty()) {
+            recipesByCategory.remove(categoryId);
+        }
+    }
+}
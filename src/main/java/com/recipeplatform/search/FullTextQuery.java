@@ -0,0 +1,23 @@
+package com.recipeplatform.search;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+public final class FullTextQuery {
+
+    private FullTextQuery() {
+    }
+
+    /**
+     * Builds a PostgreSQL {@code to_tsquery} expression where every word of the input must match
+     * as a prefix, e.g. "Борщ укр" becomes "борщ:* & укр:*". Returns an empty string when the
+     * input has no searchable words.
+     */
+    public static String toPrefixTsQuery(String query) {
+        String normalized = TermNormalizer.normalize(query);
+        return Arrays.stream(normalized.split("[^\\p{L}\\p{N}]+"))
+            .filter(word -> !word.isEmpty())
+            .map(word -> word + ":*")
+            .collect(Collectors.joining(" & "));
+    }
+}
@@ -0,0 +1,12 @@
+package com.recipeplatform.search;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Value;
+
+@Value
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class FuzzyMatch {
+    Long recipeId;
+    String text;
+    double similarity;
+}
@@ -0,0 +1,11 @@
+package com.recipeplatform.search;
+
+import java.util.List;
+
+/**
+ * Typo-tolerant lookup of recipe titles and ingredient names by trigram similarity.
+ */
+public interface FuzzySearch {
+    List<FuzzyMatch> similarTitles(String query, int limit);
+    List<FuzzyMatch> similarIngredients(String query, int limit);
+}
@@ -0,0 +1,225 @@
+package com.recipeplatform.search;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Immutable on-disk snapshot of the recipe documents as an inverted index: a sorted ingredient term
+ * dictionary whose entries point at posting lists of recipe ids, followed by a table of per-recipe
+ * fields. Files are opened through a read-only {@link MappedByteBuffer}, so opening a segment reads
+ * nothing up front and pages are faulted in as terms and documents are visited.
+ *
+ * <pre>
+ * header     magic, version, checkpoint, document count, term count, section offsets, file length
+ * documents  per recipe: id, category id, then title and description as UTF-8 length and bytes (-1 for null)
+ * terms      per term, in term order: string offset, string length, postings offset, postings count
+ * strings    UTF-8 term bytes
+ * postings   ascending recipe ids
+ * </pre>
+ */
+public final class IndexSegment {
+    private static final int MAGIC = 0x52534547; // "RSEG"
+    private static final int VERSION = 2;
+    private static final int HEADER_BYTES = 40;
+    private static final int TERM_ENTRY_BYTES = 16;
+    private static final long NO_CATEGORY = Long.MIN_VALUE;
+
+    private final ByteBuffer buffer;
+    private final long checkpoint;
+    private final int documentCount;
+    private final int termCount;
+    private final int termsOffset;
+    private final int stringsOffset;
+    private final int postingsOffset;
+
+    private IndexSegment(ByteBuffer buffer) throws IOException {
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("Not an index segment or unsupported version");
+        }
+        if (buffer.getInt(36) != buffer.capacity()) {
+            throw new IOException("Truncated index segment");
+        }
+        this.buffer = buffer;
+        this.checkpoint = buffer.getLong(8);
+        this.documentCount = buffer.getInt(16);
+        this.termCount = buffer.getInt(20);
+        this.termsOffset = buffer.getInt(24);
+        this.stringsOffset = buffer.getInt(28);
+        this.postingsOffset = buffer.getInt(32);
+    }
+
+    public static IndexSegment open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Index segment too large: " + path);
+            }
+            // The mapping stays valid after the channel is closed
+            return new IndexSegment(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public static void write(Path path, long checkpoint, Collection<RecipeDocument> documents) throws IOException {
+        SortedMap<String, TreeSet<Long>> postings = new TreeMap<>();
+        ByteArrayOutputStream documentBytes = new ByteArrayOutputStream();
+        DataOutputStream documentOut = new DataOutputStream(documentBytes);
+        for (RecipeDocument document : documents) {
+            documentOut.writeLong(document.getId());
+            documentOut.writeLong(document.getCategoryId() != null ? document.getCategoryId() : NO_CATEGORY);
+            writeString(documentOut, document.getTitle());
+            writeString(documentOut, document.getDescription());
+            for (String ingredient : document.getIngredients()) {
+                postings.computeIfAbsent(ingredient, term -> new TreeSet<>()).add(document.getId());
+            }
+        }
+
+        ByteArrayOutputStream termBytes = new ByteArrayOutputStream();
+        DataOutputStream termOut = new DataOutputStream(termBytes);
+        ByteArrayOutputStream stringBytes = new ByteArrayOutputStream();
+        ByteArrayOutputStream postingBytes = new ByteArrayOutputStream();
+        DataOutputStream postingOut = new DataOutputStream(postingBytes);
+        for (Map.Entry<String, TreeSet<Long>> entry : postings.entrySet()) {
+            byte[] term = entry.getKey().getBytes(StandardCharsets.UTF_8);
+            termOut.writeInt(stringBytes.size());
+            termOut.writeInt(term.length);
+            termOut.writeInt(postingBytes.size());
+            termOut.writeInt(entry.getValue().size());
+            stringBytes.write(term);
+            for (long id : entry.getValue()) {
+                postingOut.writeLong(id);
+            }
+        }
+
+        long length = (long) HEADER_BYTES + documentBytes.size() + termBytes.size() + stringBytes.size() + postingBytes.size();
+        if (length > Integer.MAX_VALUE) {
+            throw new IOException("Index segment too large: " + length + " bytes");
+        }
+        int termsOffset = HEADER_BYTES + documentBytes.size();
+        int stringsOffset = termsOffset + termBytes.size();
+        int postingsOffset = stringsOffset + stringBytes.size();
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        header.putInt(MAGIC).putInt(VERSION).putLong(checkpoint)
+            .putInt(documents.size()).putInt(postings.size())
+            .putInt(termsOffset).putInt(stringsOffset).putInt(postingsOffset).putInt((int) length)
+            .flip();
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            for (ByteBuffer section : new ByteBuffer[] {header, ByteBuffer.wrap(documentBytes.toByteArray()),
+                    ByteBuffer.wrap(termBytes.toByteArray()), ByteBuffer.wrap(stringBytes.toByteArray()),
+                    ByteBuffer.wrap(postingBytes.toByteArray())}) {
+                while (section.hasRemaining()) {
+                    channel.write(section);
+                }
+            }
+            channel.force(true);
+        }
+    }
+
+    // Epoch millis up to which changes are contained in this segment
+    public long checkpoint() {
+        return checkpoint;
+    }
+
+    public int documentCount() {
+        return documentCount;
+    }
+
+    public int termCount() {
+        return termCount;
+    }
+
+    // Binary search over the sorted term dictionary
+    public long[] postings(String term) {
+        int low = 0;
+        int high = termCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = term(mid).compareTo(term);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return postingsAt(mid);
+            }
+        }
+        return new long[0];
+    }
+
+    // Recovers the documents; ingredients come from inverting the posting lists
+    public List<RecipeDocument> documents() {
+        Map<Long, List<String>> ingredientsByRecipe = new HashMap<>();
+        for (int ordinal = 0; ordinal < termCount; ordinal++) {
+            String term = term(ordinal);
+            for (long id : postingsAt(ordinal)) {
+                ingredientsByRecipe.computeIfAbsent(id, key -> new ArrayList<>()).add(term);
+            }
+        }
+
+        List<RecipeDocument> documents = new ArrayList<>(documentCount);
+        int position = HEADER_BYTES;
+        for (int i = 0; i < documentCount; i++) {
+            long id = buffer.getLong(position);
+            long categoryId = buffer.getLong(position + 8);
+            position += 16;
+            int titleLength = buffer.getInt(position);
+            String title = titleLength >= 0 ? string(position + 4, titleLength) : null;
+            position += 4 + Math.max(titleLength, 0);
+            int descriptionLength = buffer.getInt(position);
+            String description = descriptionLength >= 0 ? string(position + 4, descriptionLength) : null;
+            position += 4 + Math.max(descriptionLength, 0);
+            documents.add(new RecipeDocument(id, title, description, categoryId != NO_CATEGORY ? categoryId : null,
+                ingredientsByRecipe.getOrDefault(id, List.of())));
+        }
+        return documents;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private String term(int ordinal) {
+        int entry = termsOffset + ordinal * TERM_ENTRY_BYTES;
+        return string(stringsOffset + buffer.getInt(entry), buffer.getInt(entry + 4));
+    }
+
+    private long[] postingsAt(int ordinal) {
+        int entry = termsOffset + ordinal * TERM_ENTRY_BYTES;
+        int offset = postingsOffset + buffer.getInt(entry + 8);
+        long[] ids = new long[buffer.getInt(entry + 12)];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = buffer.getLong(offset + i * 8);
+        }
+        return ids;
+    }
+
+    private String string(int offset, int length) {
+        byte[] bytes = new byte[length];
+        ByteBuffer slice = buffer.duplicate();
+        slice.position(offset);
+        slice.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,96 @@
+package com.recipeplatform.search;
+
+import com.recipeplatform.config.SearchProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Directory of checkpointed {@link IndexSegment} files named after their checkpoint. A new segment is
+ * written under a temporary name and moved into place atomically, then older segments are deleted.
+ */
+@Component
+public class IndexSegmentStore {
+    private static final Logger logger = LoggerFactory.getLogger(IndexSegmentStore.class);
+    private static final Pattern SEGMENT_NAME = Pattern.compile("segment-(\\d+)\\.idx");
+
+    private final Path directory;
+
+    @Autowired
+    public IndexSegmentStore(SearchProperties searchProperties) {
+        this.directory = Paths.get(searchProperties.getSegmentDirectory());
+    }
+
+    public Optional<IndexSegment> openLatest() {
+        for (Path path : segments()) {
+            try {
+                return Optional.of(IndexSegment.open(path));
+            } catch (IOException e) {
+                logger.warn("Skipping unreadable index segment {}: {}", path, e.getMessage());
+            }
+        }
+        return Optional.empty();
+    }
+
+    public void write(long checkpoint, Collection<RecipeDocument> documents) throws IOException {
+        Files.createDirectories(directory);
+        Path target = directory.resolve("segment-" + checkpoint + ".idx");
+        Path temporary = directory.resolve(target.getFileName() + ".tmp");
+        IndexSegment.write(temporary, checkpoint, documents);
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        logger.info("Wrote index segment {} with {} recipes", target, documents.size());
+
+        for (Path older : segments()) {
+            if (!older.equals(target)) {
+                Files.deleteIfExists(older);
+            }
+        }
+    }
+
+    public void deleteAll() {
+        for (Path segment : segments()) {
+            try {
+                Files.deleteIfExists(segment);
+                logger.info("Deleted index segment {}", segment);
+            } catch (IOException e) {
+                logger.warn("Could not delete index segment {}: {}", segment, e.getMessage());
+            }
+        }
+    }
+
+    // Newest first
+    private List<Path> segments() {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                .filter(path -> SEGMENT_NAME.matcher(path.getFileName().toString()).matches())
+                .sorted(Comparator.comparingLong(IndexSegmentStore::checkpointOf).reversed())
+                .collect(Collectors.toList());
+        } catch (IOException e) {
+            logger.warn("Cannot list index segments in {}: {}", directory, e.getMessage());
+            return List.of();
+        }
+    }
+
+    private static long checkpointOf(Path path) {
+        Matcher matcher = SEGMENT_NAME.matcher(path.getFileName().toString());
+        return matcher.matches() ? Long.parseLong(matcher.group(1)) : -1;
+    }
+}
@@ -0,0 +1,175 @@
+package com.recipeplatform.search;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Canonical ingredient names and their interned integer ids, aliases included. Recipes store only
+ * the ids; the whole dictionary is small enough to keep in memory, so resolving a name or id never
+ * needs a query once loaded. New names are inserted in the caller's transaction, before the recipe
+ * that uses them is saved, and become visible to other threads only once that transaction commits.
+ */
+@Component
+public class IngredientDictionary {
+    private static final Logger logger = LoggerFactory.getLogger(IngredientDictionary.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Canonical names and aliases, both normalized
+    private final Map<String, Integer> idsByName = new ConcurrentHashMap<>();
+    private final Map<Integer, String> namesById = new ConcurrentHashMap<>();
+    private volatile String insertIfAbsent;
+    private volatile boolean loaded;
+
+    @Autowired
+    public IngredientDictionary(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Integer idOf(String name) {
+        ensureLoaded();
+        String normalized = TermNormalizer.normalize(name);
+        Integer id = idsByName.get(normalized);
+        if (id == null) {
+            Map<String, Integer> pending = pending(false);
+            id = pending != null ? pending.get(normalized) : null;
+        }
+        return id;
+    }
+
+    public String nameOf(int id) {
+        ensureLoaded();
+        String name = namesById.get(id);
+        if (name == null) {
+            // Added by another instance since we loaded
+            name = jdbcTemplate.queryForObject("SELECT name FROM ingredients WHERE id = ?", String.class, id);
+            namesById.put(id, name);
+        }
+        return name;
+    }
+
+    // Canonical name for an ingredient as typed: aliases resolve to their ingredient, unknown names are normalized
+    public String canonicalName(String name) {
+        Integer id = idOf(name);
+        return id != null ? nameOf(id) : TermNormalizer.normalize(name);
+    }
+
+    public List<String> canonicalNames(Collection<String> names) {
+        return names.stream()
+            .filter(Objects::nonNull)
+            .map(this::canonicalName)
+            .filter(name -> !name.isEmpty())
+            .collect(Collectors.toList());
+    }
+
+    // Canonical names of the ingredients, each interned; call before saving a recipe that uses them
+    public List<String> internNames(Collection<String> names) {
+        List<String> canonical = canonicalNames(names);
+        canonical.forEach(this::intern);
+        return canonical;
+    }
+
+    public int intern(String name) {
+        Integer id = idOf(name);
+        return id != null ? id : insert(TermNormalizer.normalize(name));
+    }
+
+    public void addAlias(String alias, String name) {
+        String normalizedAlias = TermNormalizer.normalize(alias);
+        if (normalizedAlias.isEmpty() || idOf(normalizedAlias) != null) {
+            throw new IllegalArgumentException("Ingredient name already in use: " + alias);
+        }
+        int id = intern(name);
+        jdbcTemplate.update("INSERT INTO ingredient_aliases (ingredient_id, alias) VALUES (?, ?)", id, normalizedAlias);
+        publishAfterCommit(normalizedAlias, id);
+        logger.info("Added alias '{}' for ingredient {}", normalizedAlias, id);
+    }
+
+    public int size() {
+        ensureLoaded();
+        return namesById.size();
+    }
+
+    // A name added concurrently by another transaction or instance is taken over instead of failing
+    private int insert(String name) {
+        jdbcTemplate.update(insertIfAbsent, name);
+        int id = Objects.requireNonNull(
+            jdbcTemplate.queryForObject("SELECT id FROM ingredients WHERE name = ?", Integer.class, name));
+        namesById.put(id, name);
+        publishAfterCommit(name, id);
+        logger.debug("Interned ingredient '{}' as {}", name, id);
+        return id;
+    }
+
+    // Other threads must not use an id whose row may still be rolled back
+    private void publishAfterCommit(String name, int id) {
+        Map<String, Integer> pending = pending(true);
+        if (pending != null) {
+            pending.put(name, id);
+        } else {
+            idsByName.put(name, id);
+        }
+    }
+
+    // Names interned by the current transaction, or null outside of one
+    @SuppressWarnings("unchecked")
+    private Map<String, Integer> pending(boolean create) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        Map<String, Integer> pending = (Map<String, Integer>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null && create) {
+            Map<String, Integer> created = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(IngredientDictionary.this);
+                    if (status == STATUS_COMMITTED) {
+                        idsByName.putAll(created);
+                    }
+                }
+            });
+            pending = created;
+        }
+        return pending;
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+            jdbcTemplate.query("SELECT id, name FROM ingredients", row -> {
+                namesById.put(row.getInt(1), row.getString(2));
+                idsByName.put(row.getString(2), row.getInt(1));
+            });
+            jdbcTemplate.query("SELECT alias, ingredient_id FROM ingredient_aliases",
+                row -> { idsByName.put(row.getString(1), row.getInt(2)); });
+            String database = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            insertIfAbsent = "PostgreSQL".equals(database)
+                ? "INSERT INTO ingredients (name) VALUES (?) ON CONFLICT (name) DO NOTHING"
+                : "MERGE INTO ingredients (name) KEY (name) VALUES (?)";
+            loaded = true;
+            logger.info("Loaded {} ingredients and {} aliases", namesById.size(), idsByName.size() - namesById.size());
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.recipeplatform.search;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index from normalized ingredient term to the ids of the recipes using it.
+ */
+@Component
+public class IngredientIndex implements RecipeIndex {
+    private static final Logger logger = LoggerFactory.getLogger(IngredientIndex.class);
+
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    private final Map<Long, Set<String>> termsByRecipe = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Override
+    public void rebuild(Collection<RecipeDocument> documents) {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            termsByRecipe.clear();
+            documents.forEach(document -> put(document.getId(), document.getIngredients()));
+            logger.info("Built ingredient index: {} recipes, {} terms", termsByRecipe.size(), postings.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void index(RecipeDocument document) {
+        lock.writeLock().lock();
+        try {
+            evict(document.getId());
+            put(document.getId(), document.getIngredients());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long recipeId) {
+        lock.writeLock().lock();
+        try {
+            evict(recipeId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the ids of recipes having an ingredient that contains the given text, in ascending order.
+     * An exact term is answered from its posting list; other terms are only scanned for substring
+     * matches, so the cost depends on the number of distinct ingredients rather than on recipe rows.
+     */
+    public Set<Long> search(String ingredient) {
+        return recipesWithAny(matchingTerms(ingredient));
+    }
+
+    // Terms containing the given text; only the term dictionary is scanned, no posting list is copied
+    public Set<String> matchingTerms(String ingredient) {
+        String term = TermNormalizer.normalize(ingredient);
+        if (term.isEmpty()) {
+            return Collections.emptySet();
+        }
+
+        lock.readLock().lock();
+        try {
+            Set<String> result = new HashSet<>();
+            for (String candidate : postings.keySet()) {
+                if (candidate.contains(term)) {
+                    result.add(candidate);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Sum of the posting list sizes: an upper bound on the recipes having any of the terms, used as a cost estimate
+    public int postingCount(Collection<String> terms) {
+        lock.readLock().lock();
+        try {
+            int count = 0;
+            for (String term : terms) {
+                Set<Long> ids = postings.get(term);
+                count += ids != null ? ids.size() : 0;
+            }
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public SortedSet<Long> recipesWithAny(Collection<String> terms) {
+        lock.readLock().lock();
+        try {
+            SortedSet<Long> result = new TreeSet<>();
+            for (String term : terms) {
+                result.addAll(postings.getOrDefault(term, Collections.emptySet()));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Probes each candidate's own terms instead of materializing the recipes of the given terms
+    public void retainHavingAny(Collection<Long> candidates, Set<String> terms) {
+        filter(candidates, terms, true);
+    }
+
+    public void removeHavingAny(Collection<Long> candidates, Set<String> terms) {
+        filter(candidates, terms, false);
+    }
+
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void filter(Collection<Long> candidates, Set<String> terms, boolean having) {
+        lock.readLock().lock();
+        try {
+            candidates.removeIf(recipeId -> hasAny(termsByRecipe.get(recipeId), terms) != having);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static boolean hasAny(Set<String> recipeTerms, Set<String> terms) {
+        if (recipeTerms == null) {
+            return false;
+        }
+        for (String term : recipeTerms) {
+            if (terms.contains(term)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void put(Long recipeId, Collection<String> ingredients) {
+        if (recipeId == null || ingredients == null) {
+            return;
+        }
+        Set<String> terms = new HashSet<>();
+        for (String ingredient : ingredients) {
+            String term = TermNormalizer.normalize(ingredient);
+            if (!term.isEmpty() && terms.add(term)) {
+                postings.computeIfAbsent(term, key -> new TreeSet<>()).add(recipeId);
+            }
+        }
+        termsByRecipe.put(recipeId, terms);
+    }
+
+    private void evict(Long recipeId) {
+        Set<String> terms = termsByRecipe.remove(recipeId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Set<Long> ids = postings.get(term);
+            if (ids != null) {
+                ids.remove(recipeId);
+                if (ids.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.recipeplatform.search;
+
+import com.recipeplatform.config.SearchProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Nearest neighbours by ingredient-set Jaccard similarity through MinHash and locality-sensitive
+ * hashing. Each recipe gets a signature of {@code bands * rows} min-hashes; the signature is cut into
+ * bands and every band is hashed into a bucket. Recipes sharing any bucket are candidates, and only
+ * candidates are re-ranked by their exact Jaccard similarity, so a lookup touches a few buckets
+ * instead of the whole catalog. With b bands of r rows, a pair of similarity s becomes a candidate
+ * with probability 1 - (1 - s^r)^b.
+ */
+@Component
+public class MinHashIndex implements RecipeIndex {
+    private static final Logger logger = LoggerFactory.getLogger(MinHashIndex.class);
+    private static final long SEED = 0x5DEECE66DL;
+
+    private static final Comparator<ScoredRecipe> WORST_FIRST = Comparator
+        .comparingDouble(ScoredRecipe::getScore)
+        .thenComparing(ScoredRecipe::getRecipeId, Comparator.reverseOrder());
+
+    private final int bands;
+    private final int rows;
+    private final long[] hashSeeds;
+
+    // Sorted ingredient hashes per recipe, for the exact similarity of candidates
+    private final Map<Long, long[]> ingredientHashes = new HashMap<>();
+    private final Map<Long, long[]> bucketKeys = new HashMap<>();
+    private final List<Map<Long, Bucket>> buckets = new ArrayList<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Autowired
+    public MinHashIndex(SearchProperties searchProperties) {
+        this(searchProperties.getMinhashBands(), searchProperties.getMinhashRows());
+    }
+
+    public MinHashIndex(int bands, int rows) {
+        this.bands = bands;
+        this.rows = rows;
+        this.hashSeeds = new SplittableRandom(SEED).longs(bands * rows).toArray();
+        for (int band = 0; band < bands; band++) {
+            buckets.add(new HashMap<>());
+        }
+    }
+
+    @Override
+    public void rebuild(Collection<RecipeDocument> documents) {
+        lock.writeLock().lock();
+        try {
+            ingredientHashes.clear();
+            bucketKeys.clear();
+            buckets.forEach(Map::clear);
+            documents.forEach(document -> put(document.getId(), document.getIngredients()));
+            logger.info("Built MinHash index: {} recipes, {} bands of {} rows", ingredientHashes.size(), bands, rows);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void index(RecipeDocument document) {
+        lock.writeLock().lock();
+        try {
+            evict(document.getId());
+            put(document.getId(), document.getIngredients());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long recipeId) {
+        lock.writeLock().lock();
+        try {
+            evict(recipeId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} other recipes sharing ingredients with the given one, most similar first.
+     */
+    public List<ScoredRecipe> similar(Long recipeId, int limit) {
+        lock.readLock().lock();
+        try {
+            long[] ingredients = ingredientHashes.get(recipeId);
+            long[] keys = bucketKeys.get(recipeId);
+            if (ingredients == null || keys == null || limit < 1) {
+                return Collections.emptyList();
+            }
+
+            Set<Long> candidates = new HashSet<>();
+            for (int band = 0; band < bands; band++) {
+                buckets.get(band).get(keys[band]).addTo(candidates);
+            }
+            candidates.remove(recipeId);
+
+            PriorityQueue<ScoredRecipe> top = new PriorityQueue<>(limit + 1, WORST_FIRST);
+            for (Long candidate : candidates) {
+                double similarity = jaccard(ingredients, ingredientHashes.get(candidate));
+                if (similarity <= 0) {
+                    continue;
+                }
+                ScoredRecipe scored = new ScoredRecipe(candidate, similarity);
+                if (top.size() < limit) {
+                    top.add(scored);
+                } else if (WORST_FIRST.compare(scored, top.peek()) > 0) {
+                    top.poll();
+                    top.add(scored);
+                }
+            }
+
+            List<ScoredRecipe> result = new ArrayList<>(top);
+            result.sort(WORST_FIRST.reversed());
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Normalized ingredient terms hashed to 64 bits, sorted and distinct
+    static long[] ingredientHashes(Collection<String> ingredients) {
+        return ingredients.stream()
+            .map(TermNormalizer::normalize)
+            .filter(term -> !term.isEmpty())
+            .mapToLong(MinHashIndex::hash)
+            .sorted()
+            .distinct()
+            .toArray();
+    }
+
+    static double jaccard(long[] a, long[] b) {
+        int intersection = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) {
+                intersection++;
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        int union = a.length + b.length - intersection;
+        return union == 0 ? 0 : (double) intersection / union;
+    }
+
+    private void put(Long recipeId, Collection<String> ingredients) {
+        long[] hashes = ingredientHashes(ingredients);
+        if (recipeId == null || hashes.length == 0) {
+            return;
+        }
+        long[] keys = bucketKeys(hashes);
+        ingredientHashes.put(recipeId, hashes);
+        bucketKeys.put(recipeId, keys);
+        for (int band = 0; band < bands; band++) {
+            buckets.get(band).computeIfAbsent(keys[band], key -> new Bucket()).add(recipeId);
+        }
+    }
+
+    private void evict(Long recipeId) {
+        ingredientHashes.remove(recipeId);
+        long[] keys = bucketKeys.remove(recipeId);
+        if (keys == null) {
+            return;
+        }
+        for (int band = 0; band < bands; band++) {
+            Map<Long, Bucket> bandBuckets = buckets.get(band);
+            if (bandBuckets.get(keys[band]).remove(recipeId)) {
+                bandBuckets.remove(keys[band]);
+            }
+        }
+    }
+
+    private long[] bucketKeys(long[] hashes) {
+        long[] signature = new long[bands * rows];
+        Arrays.fill(signature, Long.MAX_VALUE);
+        for (long hash : hashes) {
+            for (int i = 0; i < signature.length; i++) {
+                signature[i] = Math.min(signature[i], mix(hash ^ hashSeeds[i]));
+            }
+        }
+
+        long[] keys = new long[bands];
+        for (int band = 0; band < bands; band++) {
+            long key = band;
+            for (int row = 0; row < rows; row++) {
+                key = mix(key * 31 + signature[band * rows + row]);
+            }
+            keys[band] = key;
+        }
+        return keys;
+    }
+
+    private static long hash(String term) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : term.getBytes(StandardCharsets.UTF_8)) {
+            hash = (hash ^ (b & 0xff)) * 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    // Most buckets hold one or two recipes; an unboxed array keeps them small
+    private static final class Bucket {
+        private long[] ids = new long[1];
+        private int size;
+
+        void add(long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        // Returns true when the bucket became empty
+        boolean remove(long id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    ids[i] = ids[--size];
+                    break;
+                }
+            }
+            return size == 0;
+        }
+
+        void addTo(Set<Long> target) {
+            for (int i = 0; i < size; i++) {
+                target.add(ids[i]);
+            }
+        }
+    }
+}
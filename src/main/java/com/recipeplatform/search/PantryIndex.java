@@ -0,0 +1,186 @@
+package com.recipeplatform.search;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Scores recipes against a set of available ingredients. Every distinct ingredient gets a dense
+ * int id and every recipe a bitset of its ingredient ids, so coverage of one recipe is a handful
+ * of AND + popcount operations.
+ */
+@Component
+public class PantryIndex implements RecipeIndex {
+    private static final Logger logger = LoggerFactory.getLogger(PantryIndex.class);
+
+    private static final Comparator<Scored> RANKING = Comparator
+        .comparingDouble(Scored::coverage)
+        .thenComparing(Comparator.comparingInt(Scored::missing).reversed())
+        .thenComparing(Comparator.comparingLong(Scored::recipeId).reversed());
+
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private final List<String> terms = new ArrayList<>();
+    private final Map<Long, long[]> bitsets = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Override
+    public void rebuild(Collection<RecipeDocument> documents) {
+        lock.writeLock().lock();
+        try {
+            termIds.clear();
+            terms.clear();
+            bitsets.clear();
+            documents.forEach(this::put);
+            logger.info("Built pantry index: {} recipes, {} ingredients", bitsets.size(), terms.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void index(RecipeDocument document) {
+        lock.writeLock().lock();
+        try {
+            put(document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long recipeId) {
+        lock.writeLock().lock();
+        try {
+            bitsets.remove(recipeId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} recipes sharing at least one ingredient with the pantry, best
+     * coverage first, then fewest missing ingredients.
+     */
+    public List<PantryMatch> match(Collection<String> pantry, int limit) {
+        lock.readLock().lock();
+        try {
+            long[] query = new long[words(terms.size())];
+            for (String ingredient : pantry) {
+                Integer termId = termIds.get(TermNormalizer.normalize(ingredient));
+                if (termId != null) {
+                    query[termId >>> 6] |= 1L << termId;
+                }
+            }
+
+            PriorityQueue<Scored> top = new PriorityQueue<>(RANKING);
+            for (Map.Entry<Long, long[]> entry : bitsets.entrySet()) {
+                long[] bits = entry.getValue();
+                int required = 0;
+                int matched = 0;
+                for (int i = 0; i < bits.length; i++) {
+                    required += Long.bitCount(bits[i]);
+                    if (i < query.length) {
+                        matched += Long.bitCount(bits[i] & query[i]);
+                    }
+                }
+                if (matched == 0) {
+                    continue;
+                }
+                Scored scored = new Scored(entry.getKey(), matched, required);
+                if (top.size() < limit) {
+                    top.add(scored);
+                } else if (RANKING.compare(scored, top.peek()) > 0) {
+                    top.poll();
+                    top.add(scored);
+                }
+            }
+
+            List<Scored> ranked = new ArrayList<>(top);
+            ranked.sort(RANKING.reversed());
+            List<PantryMatch> matches = new ArrayList<>(ranked.size());
+            for (Scored scored : ranked) {
+                matches.add(new PantryMatch(scored.recipeId, scored.matched, scored.required,
+                    missingIngredients(bitsets.get(scored.recipeId), query)));
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void put(RecipeDocument document) {
+        if (document.getId() == null) {
+            return;
+        }
+        List<Integer> ids = new ArrayList<>();
+        int maxId = -1;
+        for (String ingredient : document.getIngredients()) {
+            String term = TermNormalizer.normalize(ingredient);
+            if (!term.isEmpty()) {
+                int id = termIds.computeIfAbsent(term, key -> {
+                    terms.add(key);
+                    return terms.size() - 1;
+                });
+                ids.add(id);
+                maxId = Math.max(maxId, id);
+            }
+        }
+
+        // Sized to the highest ingredient id of this recipe, not to the whole dictionary
+        long[] bits = new long[words(maxId + 1)];
+        for (int id : ids) {
+            bits[id >>> 6] |= 1L << id;
+        }
+        bitsets.put(document.getId(), bits);
+    }
+
+    private List<String> missingIngredients(long[] bits, long[] query) {
+        List<String> missing = new ArrayList<>();
+        for (int i = 0; i < bits.length; i++) {
+            long word = bits[i] & ~(i < query.length ? query[i] : 0L);
+            while (word != 0) {
+                missing.add(terms.get((i << 6) + Long.numberOfTrailingZeros(word)));
+                word &= word - 1;
+            }
+        }
+        return missing;
+    }
+
+    private static int words(int bits) {
+        return (bits + 63) >>> 6;
+    }
+
+    private static final class Scored {
+        private final long recipeId;
+        private final int matched;
+        private final int required;
+
+        private Scored(long recipeId, int matched, int required) {
+            this.recipeId = recipeId;
+            this.matched = matched;
+            this.required = required;
+        }
+
+        private long recipeId() {
+            return recipeId;
+        }
+
+        private double coverage() {
+            return (double) matched / required;
+        }
+
+        private int missing() {
+            return required - matched;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.recipeplatform.search;
+
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+public class PantryMatch {
+    Long recipeId;
+    int matchedCount;
+    int requiredCount;
+    List<String> missingIngredients;
+
+    public double getCoverage() {
+        return requiredCount == 0 ? 0.0 : (double) matchedCount / requiredCount;
+    }
+
+    public int getMissingCount() {
+        return requiredCount - matchedCount;
+    }
+}
@@ -0,0 +1,50 @@
+package com.recipeplatform.search;
+
+import com.recipeplatform.config.SearchProperties;
+import com.recipeplatform.repository.RecipeRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Component
+@ConditionalOnProperty(name = "recipe.search.pg-trgm", havingValue = "true")
+public class PgTrigramSearch implements FuzzySearch {
+
+    private final RecipeRepository recipeRepository;
+    private final SearchProperties searchProperties;
+
+    @Autowired
+    public PgTrigramSearch(RecipeRepository recipeRepository, SearchProperties searchProperties) {
+        this.recipeRepository = recipeRepository;
+        this.searchProperties = searchProperties;
+    }
+
+    // The threshold is set for the transaction only, so it has to share one with the query
+    @Override
+    @Transactional(readOnly = true)
+    public List<FuzzyMatch> similarTitles(String query, int limit) {
+        double threshold = applyThreshold();
+        return recipeRepository.findSimilarTitles(TermNormalizer.normalize(query), threshold, limit).stream()
+            .map(row -> new FuzzyMatch(((Number) row[0]).longValue(), (String) row[1], ((Number) row[2]).doubleValue()))
+            .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<FuzzyMatch> similarIngredients(String query, int limit) {
+        double threshold = applyThreshold();
+        return recipeRepository.findSimilarIngredients(TermNormalizer.normalize(query), threshold, limit).stream()
+            .map(row -> new FuzzyMatch(null, (String) row[0], ((Number) row[1]).doubleValue()))
+            .collect(Collectors.toList());
+    }
+
+    private double applyThreshold() {
+        double threshold = searchProperties.getTrigramThreshold();
+        recipeRepository.setSimilarityThreshold(threshold);
+        return threshold;
+    }
+}
@@ -0,0 +1,28 @@
+package com.recipeplatform.search;
+
+import com.recipeplatform.model.Recipe;
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable snapshot of the searchable fields of a recipe, detached from the persistence context
+ * so it can be applied to the in-memory indexes after the transaction commits.
+ */
+@Value
+public class RecipeDocument {
+    Long id;
+    String title;
+    String description;
+    Long categoryId;
+    List<String> ingredients;
+
+    public static RecipeDocument from(Recipe recipe) {
+        List<String> ingredients = recipe.getIngredients() != null ?
+            Collections.unmodifiableList(new ArrayList<>(recipe.getIngredients())) : Collections.emptyList();
+        Long categoryId = recipe.getCategory() != null ? recipe.getCategory().getId() : null;
+        return new RecipeDocument(recipe.getId(), recipe.getTitle(), recipe.getDescription(), categoryId, ingredients);
+    }
+}
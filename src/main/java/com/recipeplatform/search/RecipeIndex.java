@@ -0,0 +1,9 @@
+package com.recipeplatform.search;
+
+import java.util.Collection;
+
+public interface RecipeIndex {
+    void rebuild(Collection<RecipeDocument> documents);
+    void index(RecipeDocument document);
+    void remove(Long recipeId);
+}
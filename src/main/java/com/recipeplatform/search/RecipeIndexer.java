@@ -0,0 +1,144 @@
+package com.recipeplatform.search;
+
+import com.recipeplatform.config.SearchProperties;
+import com.recipeplatform.model.Recipe;
+import com.recipeplatform.model.RecipeTombstone;
+import com.recipeplatform.repository.RecipeRepository;
+import com.recipeplatform.repository.RecipeTombstoneRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Builds every {@link RecipeIndex} at startup and forwards recipe writes to them once committed.
+ * With segments enabled, startup loads the last checkpointed {@link IndexSegment} and replays only
+ * the recipes updated or deleted since, then checkpoints the result for the next restart.
+ */
+@Component
+public class RecipeIndexer {
+    private static final Logger logger = LoggerFactory.getLogger(RecipeIndexer.class);
+
+    private final RecipeRepository recipeRepository;
+    private final RecipeTombstoneRepository tombstoneRepository;
+    private final IndexSegmentStore segmentStore;
+    private final SearchProperties searchProperties;
+    private final List<RecipeIndex> indexes;
+
+    @Autowired
+    public RecipeIndexer(RecipeRepository recipeRepository, RecipeTombstoneRepository tombstoneRepository,
+                         IndexSegmentStore segmentStore, SearchProperties searchProperties,
+                         List<RecipeIndex> indexes) {
+        this.recipeRepository = recipeRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.segmentStore = segmentStore;
+        this.searchProperties = searchProperties;
+        this.indexes = indexes;
+    }
+
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        Instant checkpoint = Instant.now().minus(searchProperties.getSegmentCheckpointLag());
+        Optional<IndexSegment> segment = searchProperties.isSegments() ? segmentStore.openLatest() : Optional.empty();
+        Collection<RecipeDocument> documents = segment.isPresent() ? replay(segment.get()) : loadAll();
+
+        indexes.forEach(index -> index.rebuild(documents));
+        logger.info("Built {} search indexes over {} recipes in {} ms",
+            indexes.size(), documents.size(), System.currentTimeMillis() - start);
+
+        if (searchProperties.isSegments()) {
+            try {
+                segmentStore.write(checkpoint.toEpochMilli(), documents);
+                // Deletions before the new checkpoint are contained in the segment
+                tombstoneRepository.deleteOlderThan(checkpoint);
+            } catch (IOException e) {
+                logger.warn("Could not checkpoint search index segment: {}", e.getMessage(), e);
+            }
+        } else {
+            // Deletions are not recorded while segments are off, so an existing segment can no longer be
+            // replayed correctly; it is dropped together with the tombstones left from when it was written
+            segmentStore.deleteAll();
+            tombstoneRepository.deleteOlderThan(Instant.now());
+        }
+    }
+
+    private List<RecipeDocument> loadAll() {
+        return documents(recipeRepository.findAllDocumentRows(), recipeRepository.findAllIngredientRows());
+    }
+
+    private Collection<RecipeDocument> replay(IndexSegment segment) {
+        Instant since = Instant.ofEpochMilli(segment.checkpoint());
+        Map<Long, RecipeDocument> documents = new LinkedHashMap<>();
+        segment.documents().forEach(document -> documents.put(document.getId(), document));
+
+        List<Long> deleted = tombstoneRepository.findRecipeIdsDeletedAfter(since);
+        deleted.forEach(documents::remove);
+        List<RecipeDocument> changed = documents(recipeRepository.findDocumentRowsUpdatedAfter(since),
+            recipeRepository.findIngredientRowsUpdatedAfter(since));
+        changed.forEach(document -> documents.put(document.getId(), document));
+
+        logger.info("Loaded {} recipes from index segment at {}, replayed {} changed and {} deleted",
+            segment.documentCount(), since, changed.size(), deleted.size());
+        return documents.values();
+    }
+
+    private static List<RecipeDocument> documents(List<Object[]> documentRows, List<Object[]> ingredientRows) {
+        Map<Long, List<String>> ingredientsByRecipe = new HashMap<>();
+        for (Object[] row : ingredientRows) {
+            ingredientsByRecipe.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((String) row[1]);
+        }
+
+        List<RecipeDocument> documents = new ArrayList<>();
+        for (Object[] row : documentRows) {
+            Long id = (Long) row[0];
+            documents.add(new RecipeDocument(id, (String) row[1], (String) row[2], (Long) row[3],
+                ingredientsByRecipe.getOrDefault(id, List.of())));
+        }
+        return documents;
+    }
+
+    public void indexAfterCommit(Recipe recipe) {
+        RecipeDocument document = RecipeDocument.from(recipe);
+        afterCommit(() -> indexes.forEach(index -> index.index(document)));
+    }
+
+    public void removeAfterCommit(Collection<Long> recipeIds) {
+        List<Long> ids = new ArrayList<>(recipeIds);
+        // Tombstones are part of the deleting transaction so a restart from an older segment drops these too;
+        // without segments nothing is replayed and they would only pile up
+        if (searchProperties.isSegments()) {
+            Instant now = Instant.now();
+            tombstoneRepository.saveAll(ids.stream()
+                .map(id -> new RecipeTombstone(id, now))
+                .collect(Collectors.toList()));
+        }
+        afterCommit(() -> ids.forEach(id -> indexes.forEach(index -> index.remove(id))));
+    }
+
+    // Keep in-memory indexes in line with committed data only; run immediately outside a transaction
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,37 @@
+package com.recipeplatform.search;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Combination of search predicates; every present predicate must hold.
+ */
+@Value
+@Builder(toBuilder = true)
+public class RecipeQuery {
+    String text;
+    @Builder.Default
+    List<String> ingredients = List.of();
+    // All listed ingredients must be present when true, any of them otherwise
+    @Builder.Default
+    boolean matchAllIngredients = true;
+    @Builder.Default
+    List<String> excludedIngredients = List.of();
+    @Builder.Default
+    List<Long> categoryIds = List.of();
+
+    public boolean hasText() {
+        return text != null && !text.trim().isEmpty();
+    }
+
+    // Index-backed predicates that bound the result; exclusions alone only narrow the whole catalog
+    public boolean hasCandidatePredicates() {
+        return !ingredients.isEmpty() || !categoryIds.isEmpty();
+    }
+
+    public boolean hasExclusions() {
+        return !excludedIngredients.isEmpty();
+    }
+}
@@ -0,0 +1,155 @@
+package com.recipeplatform.search;
+
+import com.recipeplatform.config.SearchProperties;
+import com.recipeplatform.repository.RecipeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.stream.Collectors;
+
+/**
+ * Evaluates a {@link RecipeQuery} with ingredient or category predicates into the sorted set of matching
+ * recipe ids. Each predicate is first estimated from posting and category sizes; only the most selective
+ * one is materialized and the others, exclusions included, are probed per candidate. The text predicate
+ * goes to the database last, restricted to the surviving candidates when they are few.
+ */
+@Component
+public class RecipeQueryPlanner {
+    private static final Logger logger = LoggerFactory.getLogger(RecipeQueryPlanner.class);
+
+    private final IngredientIndex ingredientIndex;
+    private final CategoryIndex categoryIndex;
+    private final RecipeRepository recipeRepository;
+    private final SearchProperties searchProperties;
+
+    @Autowired
+    public RecipeQueryPlanner(IngredientIndex ingredientIndex, CategoryIndex categoryIndex,
+                              RecipeRepository recipeRepository, SearchProperties searchProperties) {
+        this.ingredientIndex = ingredientIndex;
+        this.categoryIndex = categoryIndex;
+        this.recipeRepository = recipeRepository;
+        this.searchProperties = searchProperties;
+    }
+
+    public SortedSet<Long> candidates(RecipeQuery query) {
+        if (!query.hasCandidatePredicates()) {
+            throw new IllegalArgumentException("Query has no ingredient or category predicate to start from");
+        }
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (query.isMatchAllIngredients()) {
+            query.getIngredients().forEach(ingredient ->
+                predicates.add(new IngredientPredicate(ingredientIndex.matchingTerms(ingredient))));
+        } else if (!query.getIngredients().isEmpty()) {
+            Set<String> any = new HashSet<>();
+            query.getIngredients().forEach(ingredient -> any.addAll(ingredientIndex.matchingTerms(ingredient)));
+            predicates.add(new IngredientPredicate(any));
+        }
+        if (!query.getCategoryIds().isEmpty()) {
+            predicates.add(new CategoryPredicate(query.getCategoryIds()));
+        }
+
+        predicates.sort(Comparator.comparingInt(Predicate::estimate));
+        logger.debug("Planning {} predicates, estimates {}", predicates.size(),
+            predicates.stream().map(Predicate::estimate).toArray());
+        SortedSet<Long> candidates = predicates.get(0).recipes();
+        for (int i = 1; i < predicates.size() && !candidates.isEmpty(); i++) {
+            predicates.get(i).retain(candidates);
+        }
+
+        if (query.hasExclusions() && !candidates.isEmpty()) {
+            Set<String> excluded = new HashSet<>();
+            query.getExcludedIngredients().forEach(ingredient ->
+                excluded.addAll(ingredientIndex.matchingTerms(ingredient)));
+            ingredientIndex.removeHavingAny(candidates, excluded);
+        }
+
+        if (query.hasText() && !candidates.isEmpty()) {
+            candidates.retainAll(textMatches(query.getText().trim(), candidates));
+        }
+        return candidates;
+    }
+
+    private Set<Long> textMatches(String text, Set<Long> candidates) {
+        boolean restricted = candidates.size() <= searchProperties.getInListLimit();
+        if (searchProperties.isFullText()) {
+            String tsQuery = FullTextQuery.toPrefixTsQuery(text);
+            if (tsQuery.isEmpty()) {
+                return Set.of();
+            }
+            List<Number> ids = restricted ?
+                recipeRepository.findIdsMatchingFullTextIn(tsQuery, candidates) :
+                recipeRepository.findIdsMatchingFullText(tsQuery);
+            return ids.stream().map(Number::longValue).collect(Collectors.toSet());
+        }
+        return new HashSet<>(restricted ?
+            recipeRepository.findIdsMatchingTextIn(text, candidates) :
+            recipeRepository.findIdsMatchingText(text));
+    }
+
+    private interface Predicate {
+        int estimate();
+
+        SortedSet<Long> recipes();
+
+        void retain(SortedSet<Long> candidates);
+    }
+
+    private final class IngredientPredicate implements Predicate {
+        private final Set<String> terms;
+        private final int estimate;
+
+        private IngredientPredicate(Set<String> terms) {
+            this.terms = terms;
+            this.estimate = ingredientIndex.postingCount(terms);
+        }
+
+        @Override
+        public int estimate() {
+            return estimate;
+        }
+
+        @Override
+        public SortedSet<Long> recipes() {
+            return ingredientIndex.recipesWithAny(terms);
+        }
+
+        @Override
+        public void retain(SortedSet<Long> candidates) {
+            ingredientIndex.retainHavingAny(candidates, terms);
+        }
+    }
+
+    private final class CategoryPredicate implements Predicate {
+        private final List<Long> categoryIds;
+        private final int estimate;
+
+        private CategoryPredicate(List<Long> categoryIds) {
+            this.categoryIds = categoryIds;
+            this.estimate = categoryIndex.count(categoryIds);
+        }
+
+        @Override
+        public int estimate() {
+            return estimate;
+        }
+
+        @Override
+        public SortedSet<Long> recipes() {
+            return categoryIndex.recipesIn(categoryIds);
+        }
+
+        @Override
+        public void retain(SortedSet<Long> candidates) {
+            categoryIndex.retainIn(candidates, categoryIds);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.recipeplatform.search;
+
+import lombok.Value;
+
+@Value
+public class ScoredRecipe {
+    Long recipeId;
+    double score;
+}
@@ -0,0 +1,38 @@
+package com.recipeplatform.search;
+
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of the last row of a search page. Clients receive it as an opaque token and pass it back
+ * to continue right after that row; the sort key it carries is used as a seek predicate in SQL.
+ */
+@Value
+public class SearchCursor {
+    SearchSort sort;
+    long id;
+    float rank;
+    String title;
+
+    public static SearchCursor first(SearchSort sort) {
+        return new SearchCursor(sort, 0L, Float.MAX_VALUE, "");
+    }
+
+    public String encode() {
+        String raw = sort.name() + "\n" + id + "\n" + rank + "\n" + title;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SearchCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\n", 4);
+            return new SearchCursor(SearchSort.valueOf(parts[0]), Long.parseLong(parts[1]),
+                Float.parseFloat(parts[2]), parts[3]);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid search cursor");
+        }
+    }
+}
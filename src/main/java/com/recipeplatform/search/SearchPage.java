@@ -0,0 +1,17 @@
+package com.recipeplatform.search;
+
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+public class SearchPage<T> {
+    List<T> items;
+    SearchCursor next;
+    // Matches per category over the whole result, not just this page; null when not requested
+    List<CategoryFacet> categoryFacets;
+
+    public boolean hasNext() {
+        return next != null;
+    }
+}
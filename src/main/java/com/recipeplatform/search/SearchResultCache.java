@@ -0,0 +1,156 @@
+package com.recipeplatform.search;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.recipeplatform.config.SearchProperties;
+import lombok.Value;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiPredicate;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Bounded, TTL-evicted cache of first search pages keyed by the canonical query, sort and page size.
+ * Only ids and ranks are kept, so a hit reloads current recipe rows by primary key and content edits
+ * never serve stale data. Recipe writes invalidate exactly the entries whose page could change: those
+ * containing the recipe and those whose query matches its new version. Category facets count the whole
+ * result rather than the page, so entries carrying them are dropped on every write.
+ */
+@Component
+public class SearchResultCache implements RecipeIndex {
+
+    private final Cache<Key, CachedPage> cache;
+    private final AtomicLong invalidations = new AtomicLong();
+    // Bumped on every write so a search that raced with a write does not cache its result
+    private final AtomicLong generation = new AtomicLong();
+
+    @Autowired
+    public SearchResultCache(SearchProperties searchProperties) {
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(searchProperties.getCacheMaxSize())
+            .expireAfterWrite(searchProperties.getCacheTtl())
+            .recordStats()
+            .build();
+    }
+
+    public CachedPage get(Key key) {
+        return cache.getIfPresent(key);
+    }
+
+    // Read before running the search; the page is only stored if no write happened in between
+    public long generation() {
+        return generation.get();
+    }
+
+    public void put(Key key, CachedPage page, long searchedAt) {
+        if (generation.get() == searchedAt) {
+            cache.put(key, page);
+        }
+    }
+
+    @Override
+    public void rebuild(Collection<RecipeDocument> documents) {
+        generation.incrementAndGet();
+        invalidations.addAndGet(cache.estimatedSize());
+        cache.invalidateAll();
+    }
+
+    @Override
+    public void index(RecipeDocument document) {
+        invalidateWhere((key, page) -> key.withFacets || page.ids.contains(document.getId())
+            || matches(key.query, document));
+    }
+
+    @Override
+    public void remove(Long recipeId) {
+        invalidateWhere((key, page) -> key.withFacets || page.ids.contains(recipeId));
+    }
+
+    public Cache<?, ?> nativeCache() {
+        return cache;
+    }
+
+    public long invalidationCount() {
+        return invalidations.get();
+    }
+
+    private void invalidateWhere(BiPredicate<Key, CachedPage> affected) {
+        generation.incrementAndGet();
+        cache.asMap().forEach((key, page) -> {
+            if (affected.test(key, page) && cache.asMap().remove(key, page)) {
+                invalidations.incrementAndGet();
+            }
+        });
+    }
+
+    // May over-match (exclusions are ignored, every query word is a substring) but never misses a recipe
+    // the search would return
+    private static boolean matches(RecipeQuery query, RecipeDocument document) {
+        if (!query.getCategoryIds().isEmpty() && !query.getCategoryIds().contains(document.getCategoryId())) {
+            return false;
+        }
+        if (!query.getIngredients().isEmpty()) {
+            // Substring matching, as the planner resolves query ingredients through IngredientIndex.matchingTerms
+            Set<String> ingredients = document.getIngredients().stream()
+                .map(TermNormalizer::normalize)
+                .collect(Collectors.toSet());
+            Predicate<String> used = ingredient -> {
+                String term = TermNormalizer.normalize(ingredient);
+                return ingredients.stream().anyMatch(candidate -> candidate.contains(term));
+            };
+            boolean matched = query.isMatchAllIngredients()
+                ? query.getIngredients().stream().allMatch(used)
+                : query.getIngredients().stream().anyMatch(used);
+            if (!matched) {
+                return false;
+            }
+        }
+        if (query.hasText()) {
+            String text = TermNormalizer.normalize(document.getTitle() + " " + document.getDescription());
+            return Arrays.stream(query.getText().split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> !word.isEmpty())
+                .allMatch(text::contains);
+        }
+        return true;
+    }
+
+    @Value
+    public static class Key {
+        RecipeQuery query;
+        SearchSort sort;
+        int size;
+        boolean withFacets;
+
+        // Equivalent queries share an entry: text is normalized and predicate lists sorted and deduplicated
+        public static Key of(RecipeQuery query, SearchSort sort, int size, boolean withFacets) {
+            RecipeQuery canonical = query.toBuilder()
+                .text(query.hasText() ? TermNormalizer.normalize(query.getText()) : null)
+                .ingredients(sorted(query.getIngredients()))
+                .excludedIngredients(sorted(query.getExcludedIngredients()))
+                .categoryIds(sorted(query.getCategoryIds()))
+                .build();
+            return new Key(canonical, sort, size, withFacets);
+        }
+
+        private static <T extends Comparable<T>> List<T> sorted(List<T> values) {
+            return values.stream().filter(Objects::nonNull).distinct().sorted().collect(Collectors.toList());
+        }
+    }
+
+    // Ids and ranks of the page rows in order, plus the facet counts when they were requested
+    @Value
+    public static class CachedPage {
+        List<Long> ids;
+        List<Float> ranks;
+        Map<Long, Long> categoryCounts;
+    }
+}
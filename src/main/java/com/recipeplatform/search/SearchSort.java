@@ -0,0 +1,17 @@
+package com.recipeplatform.search;
+
+import java.util.Locale;
+
+public enum SearchSort {
+    ID,
+    TITLE,
+    RELEVANCE;
+
+    public static SearchSort from(String value) {
+        try {
+            return SearchSort.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new IllegalArgumentException("Unsupported sort: " + value + " (expected id, title or relevance)");
+        }
+    }
+}
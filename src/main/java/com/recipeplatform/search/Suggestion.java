@@ -0,0 +1,9 @@
+package com.recipeplatform.search;
+
+import lombok.Value;
+
+@Value
+public class Suggestion {
+    String text;
+    int recipeCount;
+}
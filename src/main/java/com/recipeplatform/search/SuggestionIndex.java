@@ -0,0 +1,309 @@
+package com.recipeplatform.search;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Prefix completions for recipe titles and ingredient names. Each trie node caches the best
+ * completions of its subtree, so a lookup walks the prefix and copies at most
+ * {@link #MAX_SUGGESTIONS} entries regardless of how many keys share the prefix.
+ */
+@Component
+public class SuggestionIndex implements RecipeIndex {
+    private static final Logger logger = LoggerFactory.getLogger(SuggestionIndex.class);
+
+    public static final int MAX_SUGGESTIONS = 10;
+
+    private final Trie titles = new Trie();
+    private final Trie ingredients = new Trie();
+    private final Map<Long, String> titleByRecipe = new HashMap<>();
+    private final Map<Long, Set<String>> ingredientsByRecipe = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Override
+    public void rebuild(Collection<RecipeDocument> documents) {
+        lock.writeLock().lock();
+        try {
+            titles.clear();
+            ingredients.clear();
+            titleByRecipe.clear();
+            ingredientsByRecipe.clear();
+            documents.forEach(this::put);
+            logger.info("Built suggestion index: {} titles, {} ingredients, ~{} bytes",
+                titles.size, ingredients.size, estimatedBytes());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void index(RecipeDocument document) {
+        lock.writeLock().lock();
+        try {
+            evict(document.getId());
+            put(document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long recipeId) {
+        lock.writeLock().lock();
+        try {
+            evict(recipeId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Suggestion> suggestTitles(String prefix, int limit) {
+        return suggest(titles, prefix, limit);
+    }
+
+    public List<Suggestion> suggestIngredients(String prefix, int limit) {
+        return suggest(ingredients, prefix, limit);
+    }
+
+    /**
+     * Approximate heap size of both tries, counting object headers, arrays and strings.
+     */
+    public long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            return titles.estimatedBytes() + ingredients.estimatedBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Suggestion> suggest(Trie trie, String prefix, int limit) {
+        String key = TermNormalizer.normalize(prefix);
+        lock.readLock().lock();
+        try {
+            Node node = trie.find(key);
+            if (node == null) {
+                return List.of();
+            }
+            List<Suggestion> suggestions = new ArrayList<>();
+            for (int i = 0; i < node.top.length && i < limit; i++) {
+                suggestions.add(new Suggestion(node.top[i].text, node.top[i].count));
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void put(RecipeDocument document) {
+        Long id = document.getId();
+        if (id == null) {
+            return;
+        }
+        String title = document.getTitle() != null ? document.getTitle().trim() : "";
+        if (!title.isEmpty()) {
+            titles.add(TermNormalizer.normalize(title), title);
+            titleByRecipe.put(id, title);
+        }
+
+        Set<String> terms = new HashSet<>();
+        for (String ingredient : document.getIngredients()) {
+            String term = TermNormalizer.normalize(ingredient);
+            if (!term.isEmpty() && terms.add(term)) {
+                ingredients.add(term, term);
+            }
+        }
+        ingredientsByRecipe.put(id, terms);
+    }
+
+    private void evict(Long recipeId) {
+        String title = titleByRecipe.remove(recipeId);
+        if (title != null) {
+            titles.remove(TermNormalizer.normalize(title));
+        }
+        Set<String> terms = ingredientsByRecipe.remove(recipeId);
+        if (terms != null) {
+            terms.forEach(ingredients::remove);
+        }
+    }
+
+    private static final class Entry {
+        private final String key;
+        private final String text;
+        private int count;
+
+        private Entry(String key, String text) {
+            this.key = key;
+            this.text = text;
+        }
+    }
+
+    private static final class Node {
+        private static final char[] NO_LABELS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+        private static final Entry[] NO_ENTRIES = new Entry[0];
+
+        // Children are kept in parallel arrays sorted by label instead of a map per node
+        private char[] labels = NO_LABELS;
+        private Node[] children = NO_CHILDREN;
+        private Entry entry;
+        private Entry[] top = NO_ENTRIES;
+
+        private Node child(char label) {
+            int i = Arrays.binarySearch(labels, label);
+            return i >= 0 ? children[i] : null;
+        }
+
+        private Node addChild(char label) {
+            int i = Arrays.binarySearch(labels, label);
+            if (i >= 0) {
+                return children[i];
+            }
+            int at = -i - 1;
+            char[] newLabels = new char[labels.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(labels, 0, newLabels, 0, at);
+            System.arraycopy(children, 0, newChildren, 0, at);
+            newLabels[at] = label;
+            newChildren[at] = new Node();
+            System.arraycopy(labels, at, newLabels, at + 1, labels.length - at);
+            System.arraycopy(children, at, newChildren, at + 1, children.length - at);
+            labels = newLabels;
+            children = newChildren;
+            return children[at];
+        }
+
+        private void removeChild(char label) {
+            int i = Arrays.binarySearch(labels, label);
+            if (i < 0) {
+                return;
+            }
+            char[] newLabels = new char[labels.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(labels, 0, newLabels, 0, i);
+            System.arraycopy(children, 0, newChildren, 0, i);
+            System.arraycopy(labels, i + 1, newLabels, i, labels.length - i - 1);
+            System.arraycopy(children, i + 1, newChildren, i, children.length - i - 1);
+            labels = newLabels;
+            children = newChildren;
+        }
+
+        private boolean isEmpty() {
+            return entry == null && children.length == 0;
+        }
+    }
+
+    private static final class Trie {
+        private static final Comparator<Entry> RANKING = Comparator.<Entry>comparingInt(entry -> entry.count)
+            .reversed()
+            .thenComparing(entry -> entry.key);
+
+        private Node root = new Node();
+        private int size;
+
+        private void clear() {
+            root = new Node();
+            size = 0;
+        }
+
+        private Node find(String key) {
+            Node node = root;
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.child(key.charAt(i));
+            }
+            return node;
+        }
+
+        private void add(String key, String text) {
+            Node[] path = new Node[key.length() + 1];
+            path[0] = root;
+            for (int i = 0; i < key.length(); i++) {
+                path[i + 1] = path[i].addChild(key.charAt(i));
+            }
+            Node leaf = path[key.length()];
+            if (leaf.entry == null) {
+                leaf.entry = new Entry(key, text);
+                size++;
+            }
+            leaf.entry.count++;
+            refreshTop(path);
+        }
+
+        private void remove(String key) {
+            Node[] path = new Node[key.length() + 1];
+            path[0] = root;
+            for (int i = 0; i < key.length(); i++) {
+                path[i + 1] = path[i].child(key.charAt(i));
+                if (path[i + 1] == null) {
+                    return;
+                }
+            }
+            Node leaf = path[key.length()];
+            if (leaf.entry == null) {
+                return;
+            }
+            if (--leaf.entry.count == 0) {
+                leaf.entry = null;
+                size--;
+            }
+            for (int i = key.length(); i > 0 && path[i].isEmpty(); i--) {
+                path[i - 1].removeChild(key.charAt(i - 1));
+            }
+            refreshTop(path);
+        }
+
+        // Recompute the cached best completions bottom-up along the changed path
+        private void refreshTop(Node[] path) {
+            for (int i = path.length - 1; i >= 0; i--) {
+                Node node = path[i];
+                if (node.isEmpty() && node != root) {
+                    continue;
+                }
+                List<Entry> candidates = new ArrayList<>();
+                if (node.entry != null) {
+                    candidates.add(node.entry);
+                }
+                for (Node child : node.children) {
+                    candidates.addAll(Arrays.asList(child.top));
+                }
+                candidates.sort(RANKING);
+                node.top = candidates.subList(0, Math.min(MAX_SUGGESTIONS, candidates.size()))
+                    .toArray(Node.NO_ENTRIES);
+            }
+        }
+
+        private long estimatedBytes() {
+            long bytes = 0;
+            List<Node> stack = new ArrayList<>();
+            stack.add(root);
+            while (!stack.isEmpty()) {
+                Node node = stack.remove(stack.size() - 1);
+                // Node header and fields, label/child/top arrays
+                bytes += 32 + arrayBytes(node.labels.length, 2) + arrayBytes(node.children.length, 4)
+                    + arrayBytes(node.top.length, 4);
+                if (node.entry != null) {
+                    bytes += 24 + 80 + 2L * (node.entry.key.length() + node.entry.text.length());
+                }
+                stack.addAll(Arrays.asList(node.children));
+            }
+            return bytes;
+        }
+
+        private static long arrayBytes(int length, int elementSize) {
+            return length == 0 ? 0 : (16 + (long) length * elementSize + 7) & ~7L;
+        }
+    }
+}
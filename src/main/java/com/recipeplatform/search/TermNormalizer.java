@@ -0,0 +1,19 @@
+package com.recipeplatform.search;
+
+import java.text.Normalizer;
+import java.util.Locale;
+
+public final class TermNormalizer {
+
+    private TermNormalizer() {
+    }
+
+    // Trimmed, NFKC-normalized, case-folded and with inner whitespace collapsed
+    public static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String normalized = Normalizer.normalize(value, Normalizer.Form.NFKC);
+        return normalized.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+    }
+}
@@ -0,0 +1,219 @@
+package com.recipeplatform.search;
+
+import com.recipeplatform.config.SearchProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory counterpart of the pg_trgm indexes for databases without the extension (e.g. H2).
+ * Candidates are gathered from trigram posting lists and scored with the same Jaccard similarity
+ * as {@code similarity()}, keeping only the top results in a bounded heap.
+ */
+@Component
+@ConditionalOnProperty(name = "recipe.search.pg-trgm", havingValue = "false", matchIfMissing = true)
+public class TrigramIndex implements RecipeIndex, FuzzySearch {
+    private static final Logger logger = LoggerFactory.getLogger(TrigramIndex.class);
+
+    private final SearchProperties searchProperties;
+    private final GramIndex<Long> titles = new GramIndex<>();
+    private final GramIndex<String> ingredients = new GramIndex<>();
+    private final Map<String, Integer> ingredientRefs = new HashMap<>();
+    private final Map<Long, Set<String>> ingredientsByRecipe = new HashMap<>();
+    private final Map<Long, String> titlesById = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Autowired
+    public TrigramIndex(SearchProperties searchProperties) {
+        this.searchProperties = searchProperties;
+    }
+
+    @Override
+    public void rebuild(Collection<RecipeDocument> documents) {
+        lock.writeLock().lock();
+        try {
+            titles.clear();
+            ingredients.clear();
+            ingredientRefs.clear();
+            ingredientsByRecipe.clear();
+            titlesById.clear();
+            documents.forEach(this::put);
+            logger.info("Built trigram index: {} titles, {} ingredients", titlesById.size(), ingredientRefs.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void index(RecipeDocument document) {
+        lock.writeLock().lock();
+        try {
+            evict(document.getId());
+            put(document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long recipeId) {
+        lock.writeLock().lock();
+        try {
+            evict(recipeId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<FuzzyMatch> similarTitles(String query, int limit) {
+        lock.readLock().lock();
+        try {
+            List<FuzzyMatch> matches = new ArrayList<>();
+            for (Scored<Long> scored : titles.query(query, limit, searchProperties.getTrigramThreshold())) {
+                matches.add(new FuzzyMatch(scored.key, titlesById.get(scored.key), scored.similarity));
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<FuzzyMatch> similarIngredients(String query, int limit) {
+        lock.readLock().lock();
+        try {
+            List<FuzzyMatch> matches = new ArrayList<>();
+            for (Scored<String> scored : ingredients.query(query, limit, searchProperties.getTrigramThreshold())) {
+                matches.add(new FuzzyMatch(null, scored.key, scored.similarity));
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void put(RecipeDocument document) {
+        Long id = document.getId();
+        if (id == null) {
+            return;
+        }
+        if (document.getTitle() != null) {
+            titlesById.put(id, document.getTitle());
+            titles.add(id, document.getTitle());
+        }
+
+        Set<String> terms = new HashSet<>();
+        for (String ingredient : document.getIngredients()) {
+            String term = TermNormalizer.normalize(ingredient);
+            if (!term.isEmpty() && terms.add(term) && ingredientRefs.merge(term, 1, Integer::sum) == 1) {
+                ingredients.add(term, term);
+            }
+        }
+        ingredientsByRecipe.put(id, terms);
+    }
+
+    private void evict(Long recipeId) {
+        if (titlesById.remove(recipeId) != null) {
+            titles.remove(recipeId);
+        }
+        Set<String> terms = ingredientsByRecipe.remove(recipeId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            if (ingredientRefs.merge(term, -1, Integer::sum) <= 0) {
+                ingredientRefs.remove(term);
+                ingredients.remove(term);
+            }
+        }
+    }
+
+    private static final class GramIndex<K> {
+        private final Map<String, Set<K>> postings = new HashMap<>();
+        private final Map<K, Set<String>> gramsByKey = new HashMap<>();
+
+        void add(K key, String text) {
+            Set<String> grams = Trigrams.of(text);
+            gramsByKey.put(key, grams);
+            for (String gram : grams) {
+                postings.computeIfAbsent(gram, g -> new HashSet<>()).add(key);
+            }
+        }
+
+        void remove(K key) {
+            Set<String> grams = gramsByKey.remove(key);
+            if (grams == null) {
+                return;
+            }
+            for (String gram : grams) {
+                Set<K> keys = postings.get(gram);
+                if (keys != null && keys.remove(key) && keys.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+
+        void clear() {
+            postings.clear();
+            gramsByKey.clear();
+        }
+
+        List<Scored<K>> query(String text, int limit, double threshold) {
+            Set<String> queryGrams = Trigrams.of(text);
+            if (queryGrams.isEmpty() || limit < 1) {
+                return List.of();
+            }
+
+            Map<K, Integer> shared = new HashMap<>();
+            for (String gram : queryGrams) {
+                Set<K> keys = postings.get(gram);
+                if (keys != null) {
+                    keys.forEach(key -> shared.merge(key, 1, Integer::sum));
+                }
+            }
+
+            Comparator<Scored<K>> worstFirst = Comparator.comparingDouble(scored -> scored.similarity);
+            PriorityQueue<Scored<K>> top = new PriorityQueue<>(worstFirst);
+            shared.forEach((key, common) -> {
+                int union = queryGrams.size() + gramsByKey.get(key).size() - common;
+                double similarity = (double) common / union;
+                if (similarity < threshold) {
+                    return;
+                }
+                top.add(new Scored<>(key, similarity));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            });
+
+            List<Scored<K>> ranked = new ArrayList<>(top);
+            ranked.sort(worstFirst.reversed());
+            return ranked;
+        }
+    }
+
+    private static final class Scored<K> {
+        private final K key;
+        private final double similarity;
+
+        private Scored(K key, double similarity) {
+            this.key = key;
+            this.similarity = similarity;
+        }
+    }
+}
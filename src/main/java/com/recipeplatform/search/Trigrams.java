@@ -0,0 +1,29 @@
+package com.recipeplatform.search;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Character trigrams computed the way PostgreSQL's pg_trgm does: every word is lower-cased and
+ * padded with two spaces in front and one behind, so in-memory similarity scores line up with
+ * {@code similarity()} in the database.
+ */
+public final class Trigrams {
+
+    private Trigrams() {
+    }
+
+    public static Set<String> of(String text) {
+        Set<String> grams = new HashSet<>();
+        for (String word : TermNormalizer.normalize(text).split("[^\\p{L}\\p{N}]+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                grams.add(padded.substring(i, i + 3));
+            }
+        }
+        return grams;
+    }
+}
@@ -0,0 +1,10 @@
+package com.recipeplatform.service;
+
+import com.recipeplatform.model.VersionStamp;
+
+public interface CatalogVersionService {
+    VersionStamp current();
+
+    // Must run inside the transaction of the write it records
+    void bump();
+}
@@ -1,12 +1,27 @@
 package com.recipeplatform.service;
 
 import com.recipeplatform.model.Category;
+import com.recipeplatform.payload.response.CategoryCountResponse;
+import com.recipeplatform.payload.response.CategoryField;
+import com.recipeplatform.payload.response.SparseCategoryResponse;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public interface CategoryService {
     List<Category> getAllCategories();
+    Slice<Category> getCategories(Pageable pageable);
+    Slice<Category> getCategoriesAfter(Long afterId, int size);
+    Slice<CategoryCountResponse> getCategoriesWithRecipeCounts(Pageable pageable);
+    Slice<CategoryCountResponse> getCategoriesWithRecipeCountsAfter(Long afterId, int size);
+    long countCategories();
     Optional<Category> getCategoryById(Long id);
+    Optional<Long> getCategoryVersion(Long id);
+    Slice<SparseCategoryResponse> getCategoryFields(Set<CategoryField> fields, Pageable pageable);
+    Slice<SparseCategoryResponse> getCategoryFieldsAfter(Set<CategoryField> fields, Long afterId, int size);
+    Optional<SparseCategoryResponse> getCategoryFieldsById(Set<CategoryField> fields, Long id);
     Category createCategory(Category category);
     Optional<Category> updateCategory(Long id, Category categoryDetails);
     void deleteCategory(Long id);
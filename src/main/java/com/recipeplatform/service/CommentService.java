@@ -0,0 +1,10 @@
+package com.recipeplatform.service;
+
+import com.recipeplatform.payload.response.CommentCursor;
+import com.recipeplatform.payload.response.CommentResponse;
+import org.springframework.data.domain.Slice;
+
+public interface CommentService {
+    Slice<CommentResponse> getComments(Long recipeId, CommentCursor after, int size);
+    CommentResponse addComment(Long recipeId, String text, String author);
+}
@@ -0,0 +1,12 @@
+package com.recipeplatform.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface RecipeExportService {
+    /**
+     * Writes every recipe with its category and ingredients as one JSON object per line, in id order.
+     * Returns the number of recipes written.
+     */
+    long exportNdjson(OutputStream out) throws IOException;
+}
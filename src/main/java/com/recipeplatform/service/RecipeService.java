@@ -1,16 +1,56 @@
 package com.recipeplatform.service;
 
 import com.recipeplatform.model.Recipe;
+import com.recipeplatform.model.VersionStamp;
+import com.recipeplatform.payload.response.BatchGetResponse;
+import com.recipeplatform.payload.response.FuzzySearchResponse;
+import com.recipeplatform.payload.response.PantryMatchResponse;
+import com.recipeplatform.payload.response.RankedRecipeResponse;
+import com.recipeplatform.payload.response.RecipeCardResponse;
+import com.recipeplatform.payload.response.RecipeField;
+import com.recipeplatform.payload.response.RecipeSummaryResponse;
+import com.recipeplatform.payload.response.SparseRecipeResponse;
+import com.recipeplatform.payload.response.SuggestResponse;
+import com.recipeplatform.search.RecipeQuery;
+import com.recipeplatform.search.SearchCursor;
+import com.recipeplatform.search.SearchPage;
+import com.recipeplatform.search.SearchSort;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public interface RecipeService {
     List<Recipe> getAllRecipes();
+    Slice<Recipe> getRecipes(Pageable pageable);
+    Slice<Recipe> getRecipesAfter(Long afterId, int size);
+    Slice<RecipeSummaryResponse> getRecipeSummaries(Pageable pageable);
+    Slice<RecipeSummaryResponse> getRecipeSummariesAfter(Long afterId, int size);
+    Slice<RecipeCardResponse> getRecipeCards(Pageable pageable);
+    Slice<RecipeCardResponse> getRecipeCardsAfter(Long afterId, int size);
+    Slice<SparseRecipeResponse> getRecipeFields(Set<RecipeField> fields, Pageable pageable);
+    Slice<SparseRecipeResponse> getRecipeFieldsAfter(Set<RecipeField> fields, Long afterId, int size);
+    Optional<SparseRecipeResponse> getRecipeFieldsById(Set<RecipeField> fields, Long id);
+    BatchGetResponse getRecipesByIds(List<Long> ids, Set<RecipeField> fields);
+    long countRecipes();
     Optional<Recipe> getRecipeById(Long id);
+    Optional<VersionStamp> getRecipeVersion(Long id);
+    Optional<Long> getRecipeCategoryVersion(Long id);
     Recipe createRecipe(Recipe recipe);
     Optional<Recipe> updateRecipe(Long id, Recipe recipeDetails);
     void deleteRecipe(Long id);
     List<Recipe> searchByTitle(String title);
     List<Recipe> searchByIngredient(String ingredient);
     List<Recipe> searchByTitleOrDescription(String query);
+    SearchPage<Recipe> searchRecipes(RecipeQuery query, SearchSort sort, SearchCursor after, int limit,
+                                     boolean withFacets);
+    List<RankedRecipeResponse> rankedSearch(String query, int limit);
+
+    Optional<List<RankedRecipeResponse>> similarRecipes(Long id, int limit);
+
+    FuzzySearchResponse fuzzySearch(String query, int limit);
+    SuggestResponse suggest(String prefix, int limit);
+    List<PantryMatchResponse> matchPantry(Collection<String> ingredients, int limit);
 } 
\ No newline at end of file
@@ -0,0 +1,39 @@
+package com.recipeplatform.service.impl;
+
+import com.recipeplatform.model.CatalogVersion;
+import com.recipeplatform.model.VersionStamp;
+import com.recipeplatform.repository.CatalogVersionRepository;
+import com.recipeplatform.service.CatalogVersionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+@Service
+public class CatalogVersionServiceImpl implements CatalogVersionService {
+    private final CatalogVersionRepository catalogVersionRepository;
+
+    @Autowired
+    public CatalogVersionServiceImpl(CatalogVersionRepository catalogVersionRepository) {
+        this.catalogVersionRepository = catalogVersionRepository;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public VersionStamp current() {
+        return catalogVersionRepository.findById(CatalogVersion.ID)
+            .map(catalog -> new VersionStamp(catalog.getVersion(), catalog.getModifiedAt()))
+            .orElse(new VersionStamp(0L, null));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void bump() {
+        Instant now = Instant.now();
+        if (catalogVersionRepository.increment(CatalogVersion.ID, now) == 0) {
+            catalogVersionRepository.save(new CatalogVersion(CatalogVersion.ID, 1, now));
+        }
+    }
+}
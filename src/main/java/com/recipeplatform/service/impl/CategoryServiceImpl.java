@@ -1,17 +1,26 @@
 package com.recipeplatform.service.impl;
 
 import com.recipeplatform.model.Category;
+import com.recipeplatform.payload.response.CategoryCountResponse;
+import com.recipeplatform.payload.response.CategoryField;
+import com.recipeplatform.payload.response.SparseCategoryResponse;
 import com.recipeplatform.repository.CategoryRepository;
 import com.recipeplatform.repository.RecipeRepository;
+import com.recipeplatform.search.RecipeIndexer;
+import com.recipeplatform.service.CatalogVersionService;
 import com.recipeplatform.service.CategoryService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class CategoryServiceImpl implements CategoryService {
@@ -19,11 +28,16 @@ public class CategoryServiceImpl implements CategoryService {
 
     private final CategoryRepository categoryRepository;
     private final RecipeRepository recipeRepository;
+    private final RecipeIndexer recipeIndexer;
+    private final CatalogVersionService catalogVersionService;
 
     @Autowired
-    public CategoryServiceImpl(CategoryRepository categoryRepository, RecipeRepository recipeRepository) {
+    public CategoryServiceImpl(CategoryRepository categoryRepository, RecipeRepository recipeRepository,
+                               RecipeIndexer recipeIndexer, CatalogVersionService catalogVersionService) {
         this.categoryRepository = categoryRepository;
         this.recipeRepository = recipeRepository;
+        this.recipeIndexer = recipeIndexer;
+        this.catalogVersionService = catalogVersionService;
     }
 
     @Override
@@ -36,16 +50,70 @@ public class CategoryServiceImpl implements CategoryService {
         return categories;
     }
 
+    @Override
+    public Slice<Category> getCategories(Pageable pageable) {
+        return categoryRepository.findAllBy(pageable);
+    }
+
+    @Override
+    public Slice<Category> getCategoriesAfter(Long afterId, int size) {
+        return KeysetSlices.fetch(size, page -> categoryRepository.findPageOrderById(afterId, page));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<CategoryCountResponse> getCategoriesWithRecipeCounts(Pageable pageable) {
+        return categoryRepository.findWithRecipeCounts(pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<CategoryCountResponse> getCategoriesWithRecipeCountsAfter(Long afterId, int size) {
+        return KeysetSlices.fetch(size, page -> categoryRepository.findWithRecipeCountsPageOrderById(afterId, page));
+    }
+
+    @Override
+    public long countCategories() {
+        return categoryRepository.count();
+    }
+
     @Override
     public Optional<Category> getCategoryById(Long id) {
         return categoryRepository.findById(id);
     }
 
+    @Override
+    public Optional<Long> getCategoryVersion(Long id) {
+        return categoryRepository.findVersionById(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<SparseCategoryResponse> getCategoryFields(Set<CategoryField> fields, Pageable pageable) {
+        return KeysetSlices.fetch(pageable,
+            (offset, limit) -> categoryRepository.findFieldsOrderById(fields, null, offset, limit));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<SparseCategoryResponse> getCategoryFieldsAfter(Set<CategoryField> fields, Long afterId, int size) {
+        return KeysetSlices.fetch(PageRequest.of(0, size),
+            (offset, limit) -> categoryRepository.findFieldsOrderById(fields, afterId, offset, limit));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<SparseCategoryResponse> getCategoryFieldsById(Set<CategoryField> fields, Long id) {
+        return categoryRepository.findFieldsById(fields, id);
+    }
+
     @Override
     @Transactional
     public Category createCategory(Category category) {
         logger.info("Creating new category: {}", category.getName());
-        return categoryRepository.save(category);
+        Category savedCategory = categoryRepository.save(category);
+        catalogVersionService.bump();
+        return savedCategory;
     }
 
     @Override
@@ -55,7 +123,9 @@ public class CategoryServiceImpl implements CategoryService {
             .map(category -> {
                 category.setName(categoryDetails.getName());
                 category.setDescription(categoryDetails.getDescription());
-                return categoryRepository.save(category);
+                Category savedCategory = categoryRepository.save(category);
+                catalogVersionService.bump();
+                return savedCategory;
             });
     }
 
@@ -69,7 +139,11 @@ public class CategoryServiceImpl implements CategoryService {
             return;
         }
         
+        // Recipes go with the category through the cascade, so drop them from the index as well
+        List<Long> recipeIds = recipeRepository.findIdsByCategoryId(id);
         categoryRepository.deleteById(id);
+        catalogVersionService.bump();
+        recipeIndexer.removeAfterCommit(recipeIds);
         logger.info("Successfully deleted category with id: {}", id);
     }
 } 
\ No newline at end of file
@@ -0,0 +1,56 @@
+package com.recipeplatform.service.impl;
+
+import com.recipeplatform.exception.ResourceNotFoundException;
+import com.recipeplatform.model.Comment;
+import com.recipeplatform.payload.response.CommentCursor;
+import com.recipeplatform.payload.response.CommentResponse;
+import com.recipeplatform.repository.CommentRepository;
+import com.recipeplatform.repository.RecipeRepository;
+import com.recipeplatform.service.CommentService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class CommentServiceImpl implements CommentService {
+    private static final Logger logger = LoggerFactory.getLogger(CommentServiceImpl.class);
+
+    private final CommentRepository commentRepository;
+    private final RecipeRepository recipeRepository;
+
+    @Autowired
+    public CommentServiceImpl(CommentRepository commentRepository, RecipeRepository recipeRepository) {
+        this.commentRepository = commentRepository;
+        this.recipeRepository = recipeRepository;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<CommentResponse> getComments(Long recipeId, CommentCursor after, int size) {
+        if (!recipeRepository.existsById(recipeId)) {
+            throw new ResourceNotFoundException("Recipe", "id", recipeId);
+        }
+        return KeysetSlices.fetch(size, page -> after != null
+            ? commentRepository.findPageByRecipeIdBefore(recipeId, after.getCreatedAt(), after.getId(), page)
+            : commentRepository.findPageByRecipeId(recipeId, page));
+    }
+
+    @Override
+    @Transactional
+    public CommentResponse addComment(Long recipeId, String text, String author) {
+        if (!recipeRepository.existsById(recipeId)) {
+            throw new ResourceNotFoundException("Recipe", "id", recipeId);
+        }
+        Comment comment = new Comment();
+        comment.setText(text.trim());
+        comment.setAuthor(author);
+        // A reference is enough for the foreign key; the recipe row is not read again
+        comment.setRecipe(recipeRepository.getReferenceById(recipeId));
+        Comment saved = commentRepository.save(comment);
+        logger.info("Added comment {} to recipe {} by {}", saved.getId(), recipeId, author);
+        return CommentResponse.from(saved, recipeId);
+    }
+}
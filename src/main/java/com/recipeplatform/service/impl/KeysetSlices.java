@@ -0,0 +1,29 @@
+package com.recipeplatform.service.impl;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+// Pages fetch one row more than requested; the extra row only tells whether another page exists
+final class KeysetSlices {
+    private KeysetSlices() {
+    }
+
+    static <T> Slice<T> fetch(int size, Function<Pageable, List<T>> query) {
+        List<T> rows = query.apply(PageRequest.of(0, size + 1));
+        boolean hasNext = rows.size() > size;
+        return new SliceImpl<>(hasNext ? rows.subList(0, size) : rows, PageRequest.of(0, size), hasNext);
+    }
+
+    // For queries taking an explicit offset and row limit instead of a Pageable
+    static <T> Slice<T> fetch(Pageable pageable, BiFunction<Long, Integer, List<T>> query) {
+        List<T> rows = query.apply(pageable.getOffset(), pageable.getPageSize() + 1);
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+    }
+}
@@ -0,0 +1,130 @@
+package com.recipeplatform.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.recipeplatform.config.ExportProperties;
+import com.recipeplatform.service.RecipeExportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Objects;
+
+/**
+ * Streams the catalog from a forward-only JDBC cursor. Rows come one per (recipe, ingredient), ordered
+ * by recipe, and are folded into one JSON line per recipe as they arrive, so memory use depends on the
+ * fetch size and not on the catalog size. PostgreSQL only honours the fetch size inside a transaction,
+ * hence the read-only transaction around the query.
+ */
+@Service
+public class RecipeExportServiceImpl implements RecipeExportService {
+    private static final Logger logger = LoggerFactory.getLogger(RecipeExportServiceImpl.class);
+
+    private static final String EXPORT_QUERY =
+        "SELECT r.id, r.title, r.description, c.id AS category_id, c.name AS category_name, " +
+        "c.description AS category_description, i.name AS ingredient " +
+        "FROM recipes r " +
+        "JOIN categories c ON c.id = r.category_id " +
+        "LEFT JOIN recipe_ingredients ri ON ri.recipe_id = r.id " +
+        "LEFT JOIN ingredients i ON i.id = ri.ingredient_id " +
+        "ORDER BY r.id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnly;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public RecipeExportServiceImpl(DataSource dataSource, PlatformTransactionManager transactionManager,
+                                   ObjectMapper objectMapper, ExportProperties exportProperties) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(exportProperties.getFetchSize());
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public long exportNdjson(OutputStream out) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.setPrettyPrinter(new MinimalPrettyPrinter(""));
+        RecipeLineWriter writer = new RecipeLineWriter(generator);
+        try {
+            readOnly.executeWithoutResult(status -> jdbcTemplate.query(EXPORT_QUERY, writer));
+            writer.finish();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        generator.flush();
+        logger.info("Exported {} recipes", writer.recipes);
+        return writer.recipes;
+    }
+
+    private static final class RecipeLineWriter implements RowCallbackHandler {
+        private final JsonGenerator generator;
+        private Long currentId;
+        private long recipes;
+
+        RecipeLineWriter(JsonGenerator generator) {
+            this.generator = generator;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            try {
+                long id = rs.getLong("id");
+                if (!Objects.equals(currentId, id)) {
+                    finish();
+                    start(rs, id);
+                }
+                String ingredient = rs.getString("ingredient");
+                if (ingredient != null) {
+                    generator.writeString(ingredient);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void start(ResultSet rs, long id) throws SQLException, IOException {
+            currentId = id;
+            generator.writeStartObject();
+            generator.writeNumberField("id", id);
+            generator.writeStringField("title", rs.getString("title"));
+            generator.writeStringField("description", rs.getString("description"));
+            generator.writeObjectFieldStart("category");
+            generator.writeNumberField("id", rs.getLong("category_id"));
+            generator.writeStringField("name", rs.getString("category_name"));
+            generator.writeStringField("description", rs.getString("category_description"));
+            generator.writeEndObject();
+            generator.writeArrayFieldStart("ingredients");
+        }
+
+        // Closes the open recipe line, if any
+        void finish() {
+            if (currentId == null) {
+                return;
+            }
+            try {
+                generator.writeEndArray();
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            currentId = null;
+            recipes++;
+        }
+    }
+}
@@ -1,21 +1,66 @@
 package com.recipeplatform.service.impl;
 
+import com.recipeplatform.config.SearchProperties;
 import com.recipeplatform.model.Recipe;
 import com.recipeplatform.model.Category;
+import com.recipeplatform.model.VersionStamp;
+import com.recipeplatform.payload.response.BatchGetResponse;
+import com.recipeplatform.payload.response.FuzzySearchResponse;
+import com.recipeplatform.payload.response.PantryMatchResponse;
+import com.recipeplatform.payload.response.RankedRecipeResponse;
+import com.recipeplatform.payload.response.RecipeCardResponse;
+import com.recipeplatform.payload.response.RecipeField;
+import com.recipeplatform.payload.response.RecipeSummaryResponse;
+import com.recipeplatform.payload.response.SparseRecipeResponse;
+import com.recipeplatform.payload.response.SuggestResponse;
 import com.recipeplatform.repository.RecipeRepository;
 import com.recipeplatform.repository.CategoryRepository;
+import com.recipeplatform.search.Bm25Index;
+import com.recipeplatform.search.CategoryFacet;
+import com.recipeplatform.search.CategoryIndex;
+import com.recipeplatform.search.FullTextQuery;
+import com.recipeplatform.search.FuzzySearch;
+import com.recipeplatform.search.IngredientDictionary;
+import com.recipeplatform.search.IngredientIndex;
+import com.recipeplatform.search.MinHashIndex;
+import com.recipeplatform.search.PantryIndex;
+import com.recipeplatform.search.PantryMatch;
+import com.recipeplatform.search.RecipeIndexer;
+import com.recipeplatform.search.RecipeQuery;
+import com.recipeplatform.search.RecipeQueryPlanner;
+import com.recipeplatform.search.SearchCursor;
+import com.recipeplatform.search.SearchPage;
+import com.recipeplatform.search.SearchResultCache;
+import com.recipeplatform.search.ScoredRecipe;
+import com.recipeplatform.search.SearchSort;
+import com.recipeplatform.search.SuggestionIndex;
+import com.recipeplatform.service.CatalogVersionService;
 import com.recipeplatform.service.RecipeService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import javax.persistence.EntityNotFoundException;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 @Service
 public class RecipeServiceImpl implements RecipeService {
@@ -23,11 +68,44 @@ public class RecipeServiceImpl implements RecipeService {
     
     private final RecipeRepository recipeRepository;
     private final CategoryRepository categoryRepository;
+    private final RecipeIndexer recipeIndexer;
+    private final IngredientIndex ingredientIndex;
+    private final RecipeQueryPlanner queryPlanner;
+    private final CategoryIndex categoryIndex;
+    private final PantryIndex pantryIndex;
+    private final FuzzySearch fuzzySearch;
+    private final SuggestionIndex suggestionIndex;
+    private final SearchResultCache searchResultCache;
+    private final IngredientDictionary ingredientDictionary;
+    private final Bm25Index bm25Index;
+    private final MinHashIndex minHashIndex;
+    private final SearchProperties searchProperties;
+    private final CatalogVersionService catalogVersionService;
 
     @Autowired
-    public RecipeServiceImpl(RecipeRepository recipeRepository, CategoryRepository categoryRepository) {
+    public RecipeServiceImpl(RecipeRepository recipeRepository, CategoryRepository categoryRepository,
+                             RecipeIndexer recipeIndexer, IngredientIndex ingredientIndex,
+                             RecipeQueryPlanner queryPlanner, CategoryIndex categoryIndex,
+                             PantryIndex pantryIndex, FuzzySearch fuzzySearch,
+                             SuggestionIndex suggestionIndex, SearchResultCache searchResultCache,
+                             IngredientDictionary ingredientDictionary, Bm25Index bm25Index,
+                             MinHashIndex minHashIndex, SearchProperties searchProperties,
+                             CatalogVersionService catalogVersionService) {
         this.recipeRepository = recipeRepository;
         this.categoryRepository = categoryRepository;
+        this.recipeIndexer = recipeIndexer;
+        this.ingredientIndex = ingredientIndex;
+        this.queryPlanner = queryPlanner;
+        this.categoryIndex = categoryIndex;
+        this.pantryIndex = pantryIndex;
+        this.fuzzySearch = fuzzySearch;
+        this.suggestionIndex = suggestionIndex;
+        this.searchResultCache = searchResultCache;
+        this.ingredientDictionary = ingredientDictionary;
+        this.bm25Index = bm25Index;
+        this.minHashIndex = minHashIndex;
+        this.searchProperties = searchProperties;
+        this.catalogVersionService = catalogVersionService;
     }
 
     @Override
@@ -36,12 +114,108 @@ public class RecipeServiceImpl implements RecipeService {
         return recipeRepository.findAll();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<Recipe> getRecipes(Pageable pageable) {
+        return recipeRepository.findAllBy(pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<Recipe> getRecipesAfter(Long afterId, int size) {
+        return KeysetSlices.fetch(size, page -> recipeRepository.findPageOrderById(afterId, page));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<RecipeSummaryResponse> getRecipeSummaries(Pageable pageable) {
+        return recipeRepository.findSummaries(pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<RecipeSummaryResponse> getRecipeSummariesAfter(Long afterId, int size) {
+        return KeysetSlices.fetch(size, page -> recipeRepository.findSummaryPageOrderById(afterId, page));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<RecipeCardResponse> getRecipeCards(Pageable pageable) {
+        return recipeRepository.findCards(pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<RecipeCardResponse> getRecipeCardsAfter(Long afterId, int size) {
+        return KeysetSlices.fetch(size, page -> recipeRepository.findCardPageOrderById(afterId, page));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<SparseRecipeResponse> getRecipeFields(Set<RecipeField> fields, Pageable pageable) {
+        return KeysetSlices.fetch(pageable,
+            (offset, limit) -> recipeRepository.findFieldsOrderById(fields, null, offset, limit));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<SparseRecipeResponse> getRecipeFieldsAfter(Set<RecipeField> fields, Long afterId, int size) {
+        return KeysetSlices.fetch(PageRequest.of(0, size),
+            (offset, limit) -> recipeRepository.findFieldsOrderById(fields, afterId, offset, limit));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<SparseRecipeResponse> getRecipeFieldsById(Set<RecipeField> fields, Long id) {
+        return recipeRepository.findFieldsByIdIn(fields, List.of(id)).stream().findFirst();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BatchGetResponse getRecipesByIds(List<Long> ids, Set<RecipeField> fields) {
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        requested.remove(null);
+        Map<Long, SparseRecipeResponse> recipesById = recipeRepository.findFieldsByIdIn(fields, requested).stream()
+            .collect(Collectors.toMap(SparseRecipeResponse::getId, Function.identity()));
+
+        List<SparseRecipeResponse> recipes = new ArrayList<>(recipesById.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : requested) {
+            SparseRecipeResponse recipe = recipesById.get(id);
+            if (recipe != null) {
+                recipes.add(recipe);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        logger.info("Batch get of {} recipes, {} missing", requested.size(), missingIds.size());
+        return new BatchGetResponse(recipes, missingIds);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countRecipes() {
+        return recipeRepository.count();
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<Recipe> getRecipeById(Long id) {
         return recipeRepository.findById(id);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<VersionStamp> getRecipeVersion(Long id) {
+        return recipeRepository.findVersionStampById(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Long> getRecipeCategoryVersion(Long id) {
+        return recipeRepository.findCategoryVersionById(id);
+    }
+
     @Override
     @Transactional
     public Recipe createRecipe(Recipe recipe) {
@@ -59,7 +233,7 @@ public class RecipeServiceImpl implements RecipeService {
             Recipe newRecipe = new Recipe();
             newRecipe.setTitle(recipe.getTitle().trim());
             newRecipe.setDescription(recipe.getDescription() != null ? recipe.getDescription().trim() : null);
-            newRecipe.setIngredients(recipe.getIngredients());
+            newRecipe.setIngredients(ingredientDictionary.internNames(recipe.getIngredients()));
             
             // Set the category properly
             newRecipe.setCategory(category);
@@ -67,6 +241,8 @@ public class RecipeServiceImpl implements RecipeService {
             // Save the recipe
             Recipe savedRecipe = recipeRepository.save(newRecipe);
             logger.info("Created recipe with ID: {}", savedRecipe.getId());
+            catalogVersionService.bump();
+            recipeIndexer.indexAfterCommit(savedRecipe);
             return savedRecipe;
             
         } catch (EntityNotFoundException e) {
@@ -107,10 +283,12 @@ public class RecipeServiceImpl implements RecipeService {
                     recipe.setTitle(recipeDetails.getTitle().trim());
                     recipe.setDescription(recipeDetails.getDescription() != null ? 
                         recipeDetails.getDescription().trim() : null);
-                    recipe.setIngredients(recipeDetails.getIngredients());
+                    recipe.setIngredients(ingredientDictionary.internNames(recipeDetails.getIngredients()));
                     
                     Recipe updatedRecipe = recipeRepository.save(recipe);
                     logger.info("Updated recipe: {}", updatedRecipe);
+                    catalogVersionService.bump();
+                    recipeIndexer.indexAfterCommit(updatedRecipe);
                     return updatedRecipe;
                 });
         } catch (Exception e) {
@@ -131,13 +309,15 @@ public class RecipeServiceImpl implements RecipeService {
         
         recipeRepository.deleteById(id);
         logger.info("Deleted recipe with ID: {}", id);
+        catalogVersionService.bump();
+        recipeIndexer.removeAfterCommit(List.of(id));
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<Recipe> searchByTitle(String title) {
         logger.info("Searching recipes by title: {}", title);
-        List<Recipe> recipes = recipeRepository.findByTitleContainingIgnoreCase(title);
+        List<Recipe> recipes = recipeRepository.findByTitleContainingIgnoreCase(title.trim());
         logger.info("Found {} recipes", recipes.size());
         return recipes;
     }
@@ -146,7 +326,12 @@ public class RecipeServiceImpl implements RecipeService {
     @Transactional(readOnly = true)
     public List<Recipe> searchByIngredient(String ingredient) {
         logger.info("Searching recipes by ingredient: {}", ingredient);
-        List<Recipe> recipes = recipeRepository.findByIngredientsContainingIgnoreCase(ingredient);
+        Set<Long> ids = ingredientIndex.search(ingredientDictionary.canonicalName(ingredient));
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Recipe> recipes = new ArrayList<>(recipeRepository.findAllById(ids));
+        recipes.sort(Comparator.comparing(Recipe::getId));
         logger.info("Found {} recipes", recipes.size());
         return recipes;
     }
@@ -155,15 +340,397 @@ public class RecipeServiceImpl implements RecipeService {
     @Transactional(readOnly = true)
     public List<Recipe> searchByTitleOrDescription(String query) {
         logger.info("Searching recipes by title or description: {}", query);
-        List<Recipe> titleMatches = recipeRepository.findByTitleContainingIgnoreCase(query);
-        List<Recipe> descriptionMatches = recipeRepository.findByDescriptionContainingIgnoreCase(query);
-        
-        // Combine results and remove duplicates
-        List<Recipe> combinedResults = Stream.concat(titleMatches.stream(), descriptionMatches.stream())
-            .distinct()
+        List<Recipe> recipes;
+        if (!searchProperties.isFullText()) {
+            recipes = recipeRepository.searchByTitleOrDescription(query.trim());
+        } else {
+            String tsQuery = FullTextQuery.toPrefixTsQuery(query);
+            recipes = tsQuery.isEmpty() ? Collections.emptyList() : recipeRepository.searchFullText(tsQuery);
+        }
+        logger.info("Found {} recipes", recipes.size());
+        return recipes;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SearchPage<Recipe> searchRecipes(RecipeQuery query, SearchSort sort, SearchCursor after, int limit,
+                                            boolean withFacets) {
+        logger.info("Searching recipes: {}, sort={}, limit={}", query, sort, limit);
+        SearchCursor cursor = after != null ? after : SearchCursor.first(sort);
+        if (cursor.getSort() != sort) {
+            throw new IllegalArgumentException("Cursor was issued for sort " + cursor.getSort().name().toLowerCase());
+        }
+
+        RecipeQuery canonical = canonicalIngredients(query);
+        // Only first pages are cached: most searches stop there, and later pages seek from their cursor
+        SearchResultCache.Key key = after == null ? SearchResultCache.Key.of(canonical, sort, limit, withFacets) : null;
+        SearchResultCache.CachedPage cached = key != null ? searchResultCache.get(key) : null;
+
+        // One extra row tells whether another page exists
+        List<Hit> hits;
+        Map<Long, Long> categoryCounts = null;
+        if (cached != null) {
+            hits = cachedHits(cached);
+            categoryCounts = cached.getCategoryCounts();
+        } else {
+            long generation = searchResultCache.generation();
+            if (canonical.hasCandidatePredicates()) {
+                SortedSet<Long> candidates = queryPlanner.candidates(canonical);
+                hits = candidatePage(candidates, canonical, sort, cursor, limit + 1);
+                if (withFacets) {
+                    categoryCounts = categoryIndex.countByCategory(candidates);
+                }
+            } else if (canonical.hasExclusions()) {
+                hits = excludingPage(canonical, cursor, limit + 1);
+                if (withFacets) {
+                    categoryCounts = excludingCategoryCounts(canonical);
+                }
+            } else if (canonical.hasText()) {
+                String text = canonical.getText().trim();
+                hits = searchProperties.isFullText() ?
+                    fullTextPage(text, sort, cursor, limit + 1) : textPage(text, sort, cursor, limit + 1);
+                if (withFacets) {
+                    categoryCounts = textCategoryCounts(text);
+                }
+            } else {
+                hits = browsePage(sort, cursor, limit + 1);
+                if (withFacets) {
+                    categoryCounts = toCounts(recipeRepository.countByCategory());
+                }
+            }
+            if (key != null) {
+                searchResultCache.put(key, new SearchResultCache.CachedPage(
+                    hits.stream().map(hit -> hit.recipe.getId()).collect(Collectors.toList()),
+                    hits.stream().map(hit -> hit.rank).collect(Collectors.toList()),
+                    categoryCounts), generation);
+            }
+        }
+
+        SearchCursor next = null;
+        if (hits.size() > limit) {
+            hits = hits.subList(0, limit);
+            Hit last = hits.get(limit - 1);
+            next = new SearchCursor(sort, last.recipe.getId(), last.rank, last.recipe.getTitle());
+        }
+        List<Recipe> recipes = hits.stream().map(hit -> hit.recipe).collect(Collectors.toList());
+        logger.info("Found {} recipes, more: {}", recipes.size(), next != null);
+        return new SearchPage<>(recipes, next, categoryCounts != null ? categoryFacets(categoryCounts) : null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<RankedRecipeResponse> rankedSearch(String query, int limit) {
+        logger.info("Ranked search for: {}, limit={}", query, limit);
+        List<RankedRecipeResponse> result = rankedResponses(bm25Index.search(query, limit));
+        logger.info("Found {} ranked recipes", result.size());
+        return result;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<List<RankedRecipeResponse>> similarRecipes(Long id, int limit) {
+        logger.info("Finding recipes similar to {}, limit={}", id, limit);
+        if (!recipeRepository.existsById(id)) {
+            logger.warn("Recipe not found with id: {}", id);
+            return Optional.empty();
+        }
+        List<RankedRecipeResponse> result = rankedResponses(minHashIndex.similar(id, limit));
+        logger.info("Found {} similar recipes", result.size());
+        return Optional.of(result);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public FuzzySearchResponse fuzzySearch(String query, int limit) {
+        logger.info("Fuzzy searching recipes: {}", query);
+        FuzzySearchResponse response = new FuzzySearchResponse(
+            fuzzySearch.similarTitles(query, limit),
+            fuzzySearch.similarIngredients(query, limit));
+        logger.info("Found {} similar titles and {} similar ingredients",
+            response.getTitles().size(), response.getIngredients().size());
+        return response;
+    }
+
+    @Override
+    public SuggestResponse suggest(String prefix, int limit) {
+        logger.debug("Suggesting completions for prefix: {}", prefix);
+        return new SuggestResponse(
+            suggestionIndex.suggestTitles(prefix, limit),
+            suggestionIndex.suggestIngredients(prefix, limit));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PantryMatchResponse> matchPantry(Collection<String> ingredients, int limit) {
+        logger.info("Matching pantry of {} ingredients", ingredients.size());
+        List<PantryMatch> matches = pantryIndex.match(ingredientDictionary.canonicalNames(ingredients), limit);
+        if (matches.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        // Only titles are needed, so the summary projection is enough
+        Map<Long, RecipeSummaryResponse> recipesById = recipeRepository.findSummariesByIdIn(matches.stream()
+                .map(PantryMatch::getRecipeId)
+                .collect(Collectors.toList()))
+            .stream()
+            .collect(Collectors.toMap(RecipeSummaryResponse::getId, Function.identity()));
+
+        List<PantryMatchResponse> result = new ArrayList<>(matches.size());
+        for (PantryMatch match : matches) {
+            RecipeSummaryResponse recipe = recipesById.get(match.getRecipeId());
+            if (recipe != null) {
+                result.add(new PantryMatchResponse(recipe.getId(), recipe.getTitle(), match.getCoverage(),
+                    match.getMatchedCount(), match.getMissingCount(), match.getMissingIngredients()));
+            }
+        }
+        logger.info("Found {} pantry matches", result.size());
+        return result;
+    }
+
+    // Candidates are paged by id in memory. Title and relevance order come from SQL, restricted to the candidates
+    // while they fit in an IN list and otherwise by scanning rows in that order; without text there is no
+    // relevance signal, so relevance falls back to id order
+    private List<Hit> candidatePage(SortedSet<Long> ids, RecipeQuery query, SearchSort sort, SearchCursor cursor,
+                                    int size) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        boolean inList = ids.size() <= searchProperties.getInListLimit();
+        if (sort == SearchSort.TITLE && inList) {
+            return hits(recipeRepository.findPageByIdInOrderByTitle(ids, cursor.getTitle(), cursor.getId(),
+                PageRequest.of(0, size)));
+        }
+        if (sort == SearchSort.TITLE) {
+            List<Object[]> rows = scan(ids, cursor, size, (position, chunk) ->
+                    recipeRepository.findTitleKeysOrderByTitle(position.getTitle(), position.getId(),
+                        PageRequest.of(0, chunk)),
+                row -> new SearchCursor(SearchSort.TITLE, ((Number) row[0]).longValue(), 0f, (String) row[1]));
+            return hits(loadInOrder(rows.stream().map(row -> ((Number) row[0]).longValue())
+                .collect(Collectors.toList())));
+        }
+        if (sort == SearchSort.RELEVANCE && query.hasText()) {
+            return rankedCandidatePage(ids, query.getText().trim(), cursor, size, inList);
+        }
+        List<Long> pageIds = ids.tailSet(cursor.getId() + 1).stream()
+            .limit(size)
             .collect(Collectors.toList());
-            
-        logger.info("Found {} recipes", combinedResults.size());
-        return combinedResults;
+        return hits(loadInOrder(pageIds));
+    }
+
+    // Ranks the candidates with the same text query the text-only search orders by
+    private List<Hit> rankedCandidatePage(Set<Long> ids, String text, SearchCursor cursor, int size, boolean inList) {
+        Function<Object[], SearchCursor> positionOf = row ->
+            new SearchCursor(SearchSort.RELEVANCE, ((Number) row[0]).longValue(), ((Number) row[1]).floatValue(), "");
+        if (searchProperties.isFullText()) {
+            String tsQuery = FullTextQuery.toPrefixTsQuery(text);
+            if (tsQuery.isEmpty()) {
+                return Collections.emptyList();
+            }
+            return rankedHits(inList ?
+                recipeRepository.searchFullTextPageByIdInOrderByRelevance(tsQuery, ids, cursor.getRank(),
+                    cursor.getId(), size) :
+                scan(ids, cursor, size, (position, chunk) -> recipeRepository.searchFullTextPageOrderByRelevance(
+                    tsQuery, position.getRank(), position.getId(), chunk), positionOf));
+        }
+        return rankedHits(inList ?
+            recipeRepository.searchRankPageByIdInOrderByRelevance(text, ids, (int) Math.min(cursor.getRank(), 2),
+                cursor.getId(), PageRequest.of(0, size)) :
+            scan(ids, cursor, size, (position, chunk) -> recipeRepository.searchRankPageOrderByRelevance(
+                text, (int) Math.min(position.getRank(), 2), position.getId(), PageRequest.of(0, chunk)), positionOf));
+    }
+
+    // Reads an ordered query one IN-list-sized chunk at a time from the cursor on, keeping the candidate rows
+    private List<Object[]> scan(Set<Long> candidates, SearchCursor cursor, int size,
+                                BiFunction<SearchCursor, Integer, List<Object[]>> chunkAfter,
+                                Function<Object[], SearchCursor> positionOf) {
+        int chunk = searchProperties.getInListLimit();
+        List<Object[]> page = new ArrayList<>();
+        SearchCursor position = cursor;
+        while (true) {
+            List<Object[]> rows = chunkAfter.apply(position, chunk);
+            for (Object[] row : rows) {
+                if (candidates.contains(((Number) row[0]).longValue())) {
+                    page.add(row);
+                    if (page.size() == size) {
+                        return page;
+                    }
+                }
+            }
+            if (rows.size() < chunk) {
+                return page;
+            }
+            position = positionOf.apply(rows.get(rows.size() - 1));
+        }
+    }
+
+    // Nothing bounds an exclusion-only search but the catalog itself, so the whole predicate goes to SQL
+    private List<Hit> excludingPage(RecipeQuery query, SearchCursor cursor, int size) {
+        String text = searchText(query);
+        if (text != null && text.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return rankedHits(recipeRepository.searchPageExcluding(text, searchProperties.isFullText(),
+            query.getExcludedIngredients(), cursor, size));
+    }
+
+    private Map<Long, Long> excludingCategoryCounts(RecipeQuery query) {
+        String text = searchText(query);
+        if (text != null && text.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return toCounts(recipeRepository.countByCategoryExcluding(text, searchProperties.isFullText(),
+            query.getExcludedIngredients()));
+    }
+
+    // The text predicate as the repository takes it: a tsquery when full-text search is on, null without text
+    private String searchText(RecipeQuery query) {
+        if (!query.hasText()) {
+            return null;
+        }
+        String text = query.getText().trim();
+        return searchProperties.isFullText() ? FullTextQuery.toPrefixTsQuery(text) : text;
+    }
+
+    private List<Hit> fullTextPage(String query, SearchSort sort, SearchCursor cursor, int size) {
+        String tsQuery = FullTextQuery.toPrefixTsQuery(query);
+        if (tsQuery.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Object[]> rows;
+        switch (sort) {
+            case TITLE:
+                rows = recipeRepository.searchFullTextPageOrderByTitle(tsQuery, cursor.getTitle(), cursor.getId(), size);
+                break;
+            case RELEVANCE:
+                rows = recipeRepository.searchFullTextPageOrderByRelevance(tsQuery, cursor.getRank(), cursor.getId(), size);
+                break;
+            default:
+                rows = recipeRepository.searchFullTextPageOrderById(tsQuery, cursor.getId(), size);
+        }
+
+        return rankedHits(rows);
+    }
+
+    private List<Hit> textPage(String query, SearchSort sort, SearchCursor cursor, int size) {
+        Pageable page = PageRequest.of(0, size);
+        switch (sort) {
+            case TITLE:
+                return hits(recipeRepository.searchPageOrderByTitle(query, cursor.getTitle(), cursor.getId(), page));
+            case RELEVANCE:
+                int afterRank = (int) Math.min(cursor.getRank(), 2);
+                return recipeRepository.searchPageOrderByRelevance(query, afterRank, cursor.getId(), page).stream()
+                    .map(row -> new Hit((Recipe) row[0], ((Number) row[1]).floatValue()))
+                    .collect(Collectors.toList());
+            default:
+                return hits(recipeRepository.searchPageOrderById(query, cursor.getId(), page));
+        }
+    }
+
+    private List<Hit> browsePage(SearchSort sort, SearchCursor cursor, int size) {
+        Pageable page = PageRequest.of(0, size);
+        if (sort == SearchSort.TITLE) {
+            return hits(recipeRepository.findPageOrderByTitle(cursor.getTitle(), cursor.getId(), page));
+        }
+        return hits(recipeRepository.findPageOrderById(cursor.getId(), page));
+    }
+
+    private Map<Long, Long> textCategoryCounts(String text) {
+        if (!searchProperties.isFullText()) {
+            return toCounts(recipeRepository.countByCategoryMatchingText(text));
+        }
+        String tsQuery = FullTextQuery.toPrefixTsQuery(text);
+        return tsQuery.isEmpty() ? Collections.emptyMap() :
+            toCounts(recipeRepository.countByCategoryMatchingFullText(tsQuery));
+    }
+
+    private static Map<Long, Long> toCounts(List<Object[]> rows) {
+        return rows.stream().collect(Collectors.toMap(
+            row -> ((Number) row[0]).longValue(), row -> ((Number) row[1]).longValue()));
+    }
+
+    // Largest facets first; names come from one lookup of the categories that actually matched
+    private List<CategoryFacet> categoryFacets(Map<Long, Long> counts) {
+        if (counts.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return categoryRepository.findAllById(counts.keySet()).stream()
+            .map(category -> new CategoryFacet(category.getId(), category.getName(), counts.get(category.getId())))
+            .sorted(Comparator.comparingLong(CategoryFacet::getCount).reversed()
+                .thenComparing(CategoryFacet::getName))
+            .collect(Collectors.toList());
+    }
+
+    private List<RankedRecipeResponse> rankedResponses(List<ScoredRecipe> scored) {
+        Map<Long, Recipe> recipesById = loadInOrder(scored.stream()
+                .map(ScoredRecipe::getRecipeId)
+                .collect(Collectors.toList()))
+            .stream()
+            .collect(Collectors.toMap(Recipe::getId, Function.identity()));
+
+        List<RankedRecipeResponse> result = new ArrayList<>(scored.size());
+        for (ScoredRecipe hit : scored) {
+            Recipe recipe = recipesById.get(hit.getRecipeId());
+            if (recipe != null) {
+                result.add(new RankedRecipeResponse(recipe.getId(), recipe.getTitle(), recipe.getDescription(),
+                    recipe.getIngredients(), hit.getScore()));
+            }
+        }
+        return result;
+    }
+
+    // Aliases in the query resolve to the canonical ingredient names the indexes are built from
+    private RecipeQuery canonicalIngredients(RecipeQuery query) {
+        return query.toBuilder()
+            .ingredients(ingredientDictionary.canonicalNames(query.getIngredients()))
+            .excludedIngredients(ingredientDictionary.canonicalNames(query.getExcludedIngredients()))
+            .build();
+    }
+
+    private List<Recipe> loadInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Long, Recipe> recipesById = recipeRepository.findAllById(ids).stream()
+            .collect(Collectors.toMap(Recipe::getId, Function.identity()));
+        return ids.stream()
+            .map(recipesById::get)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+    }
+
+    // Reloads the cached rows by primary key, so edits made since the page was cached are visible
+    private List<Hit> cachedHits(SearchResultCache.CachedPage page) {
+        Map<Long, Float> ranks = new HashMap<>();
+        for (int i = 0; i < page.getIds().size(); i++) {
+            ranks.put(page.getIds().get(i), page.getRanks().get(i));
+        }
+        return loadInOrder(page.getIds()).stream()
+            .map(recipe -> new Hit(recipe, ranks.get(recipe.getId())))
+            .collect(Collectors.toList());
+    }
+
+    // Rows of (id, rank) in page order
+    private List<Hit> rankedHits(List<Object[]> rows) {
+        List<Long> ids = rows.stream().map(row -> ((Number) row[0]).longValue()).collect(Collectors.toList());
+        List<Recipe> recipes = loadInOrder(ids);
+        Map<Long, Float> ranks = rows.stream()
+            .collect(Collectors.toMap(row -> ((Number) row[0]).longValue(), row -> ((Number) row[1]).floatValue()));
+        return recipes.stream()
+            .map(recipe -> new Hit(recipe, ranks.get(recipe.getId())))
+            .collect(Collectors.toList());
+    }
+
+    private static List<Hit> hits(List<Recipe> recipes) {
+        return recipes.stream().map(recipe -> new Hit(recipe, 0f)).collect(Collectors.toList());
+    }
+
+    private static final class Hit {
+        private final Recipe recipe;
+        private final float rank;
+
+        private Hit(Recipe recipe, float rank) {
+            this.recipe = recipe;
+            this.rank = rank;
+        }
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,47 @@
+-- Applied after Hibernate schema update (spring.jpa.defer-datasource-initialization=true) on every boot,
+-- so each statement must be idempotent. Statements end with ^; (spring.sql.init.separator) so that
+-- DO blocks can contain semicolons.
+
+-- Move recipe ingredients from inline names to dictionary ids, once: the block only runs while the
+-- legacy column still exists. The names are normalized the way TermNormalizer does it.
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_schema = current_schema()
+                 AND table_name = 'recipe_ingredients' AND column_name = 'ingredient') THEN
+        INSERT INTO ingredients (name)
+        SELECT DISTINCT regexp_replace(lower(trim(normalize(ingredient, NFKC))), '\s+', ' ', 'g')
+        FROM recipe_ingredients WHERE ingredient IS NOT NULL AND trim(ingredient) <> ''
+        ON CONFLICT (name) DO NOTHING;
+
+        UPDATE recipe_ingredients ri SET ingredient_id = i.id
+        FROM ingredients i
+        WHERE ri.ingredient IS NOT NULL
+          AND i.name = regexp_replace(lower(trim(normalize(ri.ingredient, NFKC))), '\s+', ' ', 'g');
+
+        DELETE FROM recipe_ingredients WHERE ingredient_id IS NULL;
+
+        ALTER TABLE recipe_ingredients DROP COLUMN ingredient;
+    END IF;
+END
+$$^;
+
+-- Weighted full-text document: title ranks above description
+ALTER TABLE recipes ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(description, '')), 'B')
+    ) STORED^;
+
+CREATE INDEX IF NOT EXISTS idx_recipes_search_vector ON recipes USING GIN (search_vector)^;
+
+-- Trigram indexes for typo-tolerant title and ingredient search
+CREATE EXTENSION IF NOT EXISTS pg_trgm^;
+
+CREATE INDEX IF NOT EXISTS idx_recipes_title_trgm ON recipes USING GIN (lower(title) gin_trgm_ops)^;
+
+CREATE INDEX IF NOT EXISTS idx_ingredients_name_trgm ON ingredients USING GIN (name gin_trgm_ops)^;
+
+-- Optimistic lock versions; rows from before the column existed start at version 0
+UPDATE recipes SET version = 0 WHERE version IS NULL^;
+UPDATE categories SET version = 0 WHERE version IS NULL^;
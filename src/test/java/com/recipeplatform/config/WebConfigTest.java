@@ -0,0 +1,97 @@
+package com.recipeplatform.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.junit.jupiter.web.SpringJUnitWebConfig;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+import org.springframework.web.servlet.resource.ResourceUrlProvider;
+
+import java.io.InputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Only the MVC configuration, so the static resource chain is tested without the application context
+@SpringJUnitWebConfig(WebConfigTest.MvcConfig.class)
+class WebConfigTest {
+
+    @Configuration
+    @EnableWebMvc
+    @Import(WebConfig.class)
+    static class MvcConfig {
+    }
+
+    @Autowired
+    private WebApplicationContext context;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+    }
+
+    @Test
+    void entryPage_ShouldBeRevalidatedOnEveryLoad() throws Exception {
+        mockMvc.perform(get("/index.html"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"));
+    }
+
+    @Test
+    void entryPage_ShouldBeServedPrecompressed() throws Exception {
+        assumeTrue(new ClassPathResource("static/index.html.gz").exists(), "gzip was not available at build time");
+
+        mockMvc.perform(get("/index.html").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+            .andExpect(header().string(HttpHeaders.VARY, "Accept-Encoding"));
+    }
+
+    @Test
+    void contentHashedUrl_ShouldBeCachedForAYear() throws Exception {
+        String hash;
+        try (InputStream in = new ClassPathResource("static/index.html").getInputStream()) {
+            hash = DigestUtils.md5DigestAsHex(in);
+        }
+
+        mockMvc.perform(get("/index-" + hash + ".html"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, public"));
+        mockMvc.perform(get("/index-0123456789abcdef0123456789abcdef.html"))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void plainAssetUrl_ShouldBeRevalidated() throws Exception {
+        // The hyphenated name must not be mistaken for a content-hashed one
+        mockMvc.perform(get("/site-theme.css"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"));
+    }
+
+    @Test
+    void encodedAssetUrl_ShouldBeContentHashedAndCachedForAYear() throws Exception {
+        String hash;
+        try (InputStream in = new ClassPathResource("static/site-theme.css").getInputStream()) {
+            hash = DigestUtils.md5DigestAsHex(in);
+        }
+
+        String url = context.getBean(ResourceUrlProvider.class).getForLookupPath("/site-theme.css");
+        assertEquals("/site-theme-" + hash + ".css", url);
+        mockMvc.perform(get(url))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, public"));
+    }
+}
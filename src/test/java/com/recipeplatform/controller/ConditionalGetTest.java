@@ -0,0 +1,200 @@
+package com.recipeplatform.controller;
+
+import com.recipeplatform.config.PaginationProperties;
+import com.recipeplatform.model.Category;
+import com.recipeplatform.model.Recipe;
+import com.recipeplatform.model.VersionStamp;
+import com.recipeplatform.payload.response.CategoryResponse;
+import com.recipeplatform.payload.response.RecipeField;
+import com.recipeplatform.payload.response.SparseRecipeResponse;
+import com.recipeplatform.service.CatalogVersionService;
+import com.recipeplatform.service.CategoryService;
+import com.recipeplatform.service.RecipeExportService;
+import com.recipeplatform.service.RecipeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Standalone MockMvc: exercises the conditional GET handling without the application context
+class ConditionalGetTest {
+
+    @Mock
+    private RecipeService recipeService;
+
+    @Mock
+    private CategoryService categoryService;
+
+    @Mock
+    private RecipeExportService recipeExportService;
+
+    @Mock
+    private CatalogVersionService catalogVersionService;
+
+    private MockMvc mockMvc;
+
+    private final Instant modifiedAt = Instant.parse("2024-03-01T10:15:30Z");
+
+    private final AtomicLong catalogVersion = new AtomicLong(42L);
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        PaginationProperties paginationProperties = new PaginationProperties();
+        mockMvc = MockMvcBuilders.standaloneSetup(
+            new RecipeController(recipeService, categoryService, recipeExportService, catalogVersionService,
+                paginationProperties),
+            new CategoryController(categoryService, catalogVersionService, paginationProperties))
+            .setControllerAdvice(new NegotiatedResponseAdvice())
+            .build();
+
+        Recipe recipe = Recipe.builder().id(1L).title("Борщ").version(3L).updatedAt(modifiedAt).build();
+        when(recipeService.getRecipeVersion(1L)).thenReturn(Optional.of(new VersionStamp(3L, modifiedAt)));
+        when(recipeService.getRecipeById(1L)).thenReturn(Optional.of(recipe));
+        when(catalogVersionService.current()).thenAnswer(invocation -> new VersionStamp(catalogVersion.get(), modifiedAt));
+        when(categoryService.getCategories(any(Pageable.class)))
+            .thenReturn(new SliceImpl<>(List.of(Category.builder().id(1L).name("Супи").build())));
+    }
+
+    @Test
+    void getRecipe_ShouldReturnEtagAndLastModified() throws Exception {
+        mockMvc.perform(get("/api/recipes/1"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "W/\"recipe-1-3\""))
+            .andExpect(header().dateValue(HttpHeaders.LAST_MODIFIED, modifiedAt.toEpochMilli()))
+            .andExpect(jsonPath("$.title").value("Борщ"));
+    }
+
+    @Test
+    void getRecipe_WithMatchingEtag_ShouldReturn304WithoutLoadingTheRecipe() throws Exception {
+        mockMvc.perform(get("/api/recipes/1").header(HttpHeaders.IF_NONE_MATCH, "\"recipe-1-3\""))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, "W/\"recipe-1-3\""))
+            .andExpect(content().string(""));
+
+        verify(recipeService, never()).getRecipeById(anyLong());
+    }
+
+    @Test
+    void getRecipe_WithStaleEtag_ShouldReturnTheRecipe() throws Exception {
+        mockMvc.perform(get("/api/recipes/1").header(HttpHeaders.IF_NONE_MATCH, "\"recipe-1-2\""))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "W/\"recipe-1-3\""));
+    }
+
+    @Test
+    void getRecipe_WhenMissing_ShouldReturn404() throws Exception {
+        when(recipeService.getRecipeVersion(2L)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/recipes/2").header(HttpHeaders.IF_NONE_MATCH, "*"))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getRecipeWithCategory_AfterCategoryRenamed_ShouldReturnNewEtag() throws Exception {
+        AtomicLong categoryVersion = new AtomicLong(5L);
+        Set<RecipeField> fields = RecipeField.parse("title,category");
+        when(recipeService.getRecipeCategoryVersion(1L)).thenAnswer(invocation -> Optional.of(categoryVersion.get()));
+        when(recipeService.getRecipeFieldsById(fields, 1L)).thenReturn(Optional.of(
+            new SparseRecipeResponse(fields, 1L, "Борщ", null, null, new CategoryResponse(1L, "Супи", null))));
+
+        mockMvc.perform(get("/api/recipes/1").param("fields", "title,category"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "W/\"recipe-1-3-5\""));
+
+        // Renaming the category bumps its version and the catalog, not the recipe
+        categoryVersion.incrementAndGet();
+        when(catalogVersionService.current()).thenReturn(new VersionStamp(43L, modifiedAt.plusSeconds(60)));
+
+        mockMvc.perform(get("/api/recipes/1").param("fields", "title,category")
+                .header(HttpHeaders.IF_NONE_MATCH, "W/\"recipe-1-3-5\""))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "W/\"recipe-1-3-6\""))
+            .andExpect(header().dateValue(HttpHeaders.LAST_MODIFIED, modifiedAt.plusSeconds(60).toEpochMilli()));
+
+        // Without the category the recipe's own version still decides
+        mockMvc.perform(get("/api/recipes/1").param("fields", "title")
+                .header(HttpHeaders.IF_NONE_MATCH, "W/\"recipe-1-3\""))
+            .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void getCategories_WithCurrentCatalogEtag_ShouldReturn304WithoutQuerying() throws Exception {
+        mockMvc.perform(get("/api/categories"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "W/\"catalog-categories-42\""));
+
+        mockMvc.perform(get("/api/categories").header(HttpHeaders.IF_NONE_MATCH, "W/\"catalog-categories-42\""))
+            .andExpect(status().isNotModified());
+
+        verify(categoryService, times(1)).getCategories(any(Pageable.class));
+    }
+
+    @Test
+    void negotiatedResponses_ShouldVaryByAccept() throws Exception {
+        mockMvc.perform(get("/api/categories").accept(MediaType.APPLICATION_CBOR))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+            .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)));
+
+        mockMvc.perform(get("/api/categories").header(HttpHeaders.IF_NONE_MATCH, "W/\"catalog-categories-42\""))
+            .andExpect(status().isNotModified())
+            .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)));
+
+        // Not a conditional response, so the header comes from the body advice
+        when(categoryService.getCategoryById(1L)).thenReturn(Optional.of(Category.builder().id(1L).build()));
+        when(recipeService.createRecipe(any(Recipe.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        mockMvc.perform(post("/api/recipes")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\": \"Юшка\", \"category\": {\"id\": 1}}"))
+            .andExpect(status().isOk())
+            .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)));
+    }
+
+    @Test
+    void getCategory_AfterRecipeCreated_ShouldReturnNewEtag() throws Exception {
+        Category category = Category.builder().id(1L).name("Супи").version(5L).build();
+        when(categoryService.getCategoryVersion(1L)).thenReturn(Optional.of(5L));
+        when(categoryService.getCategoryById(1L)).thenReturn(Optional.of(category));
+        // The service bumps the catalog on every recipe write; the category's own version stays the same
+        when(recipeService.createRecipe(any(Recipe.class))).thenAnswer(invocation -> {
+            catalogVersion.incrementAndGet();
+            Recipe created = invocation.getArgument(0);
+            created.setId(2L);
+            return created;
+        });
+
+        mockMvc.perform(get("/api/categories/1"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "W/\"category-1-42\""));
+
+        mockMvc.perform(post("/api/recipes")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\": \"Юшка\", \"category\": {\"id\": 1}}"))
+            .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/categories/1").header(HttpHeaders.IF_NONE_MATCH, "W/\"category-1-42\""))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "W/\"category-1-43\""));
+    }
+}
@@ -5,6 +5,7 @@ import com.recipeplatform.model.Recipe;
 import com.recipeplatform.repository.CategoryRepository;
 import com.recipeplatform.repository.CommentRepository;
 import com.recipeplatform.repository.RecipeRepository;
+import com.recipeplatform.search.IngredientDictionary;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -29,6 +30,9 @@ class CommentIntegrationTest extends BaseIntegrationTest {
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private IngredientDictionary ingredientDictionary;
+
     @Autowired
     private CommentRepository commentRepository;
 
@@ -50,7 +54,7 @@ class CommentIntegrationTest extends BaseIntegrationTest {
         testRecipe = Recipe.builder()
                 .title("Борщ український")
                 .description("Традиційний український борщ")
-                .ingredients(Arrays.asList("буряк", "капуста", "морква"))
+                .ingredients(ingredientDictionary.internNames(Arrays.asList("буряк", "капуста", "морква")))
                 .category(defaultCategory)
                 .build();
         testRecipe = recipeRepository.save(testRecipe);
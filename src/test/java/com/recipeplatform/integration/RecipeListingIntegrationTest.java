@@ -4,6 +4,7 @@ import com.recipeplatform.model.Category;
 import com.recipeplatform.model.Recipe;
 import com.recipeplatform.repository.CategoryRepository;
 import com.recipeplatform.repository.RecipeRepository;
+import com.recipeplatform.search.IngredientDictionary;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -21,6 +22,9 @@ class RecipeListingIntegrationTest extends BaseIntegrationTest {
     @Autowired
     private RecipeRepository recipeRepository;
 
+    @Autowired
+    private IngredientDictionary ingredientDictionary;
+
     @Autowired
     private CategoryRepository categoryRepository;
 
@@ -40,14 +44,14 @@ class RecipeListingIntegrationTest extends BaseIntegrationTest {
         Recipe recipe1 = Recipe.builder()
                 .title("Томатний суп")
                 .description("Легкий суп з помідорів")
-                .ingredients(Arrays.asList("помідори", "цибуля", "часник"))
+                .ingredients(ingredientDictionary.internNames(Arrays.asList("помідори", "цибуля", "часник")))
                 .category(defaultCategory)
                 .build();
 
         Recipe recipe2 = Recipe.builder()
                 .title("Яблучний пиріг")
                 .description("Солодкий пиріг з яблуками")
-                .ingredients(Arrays.asList("яблука", "борошно", "цукор"))
+                .ingredients(ingredientDictionary.internNames(Arrays.asList("яблука", "борошно", "цукор")))
                 .category(defaultCategory)
                 .build();
 
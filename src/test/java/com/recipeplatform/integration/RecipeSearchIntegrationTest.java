@@ -4,6 +4,7 @@ import com.recipeplatform.model.Category;
 import com.recipeplatform.model.Recipe;
 import com.recipeplatform.repository.CategoryRepository;
 import com.recipeplatform.repository.RecipeRepository;
+import com.recipeplatform.search.IngredientDictionary;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -21,6 +22,9 @@ class RecipeSearchIntegrationTest extends BaseIntegrationTest {
     @Autowired
     private RecipeRepository recipeRepository;
 
+    @Autowired
+    private IngredientDictionary ingredientDictionary;
+
     @Autowired
     private CategoryRepository categoryRepository;
 
@@ -41,21 +45,21 @@ class RecipeSearchIntegrationTest extends BaseIntegrationTest {
         Recipe recipe1 = Recipe.builder()
                 .title("Борщ український")
                 .description("Традиційний український борщ")
-                .ingredients(Arrays.asList("буряк", "капуста", "морква", "картопля"))
+                .ingredients(ingredientDictionary.internNames(Arrays.asList("буряк", "капуста", "морква", "картопля")))
                 .category(defaultCategory)
                 .build();
 
         Recipe recipe2 = Recipe.builder()
                 .title("Вареники з картоплею")
                 .description("Вареники з картопляною начинкою")
-                .ingredients(Arrays.asList("борошно", "картопля", "цибуля"))
+                .ingredients(ingredientDictionary.internNames(Arrays.asList("борошно", "картопля", "цибуля")))
                 .category(defaultCategory)
                 .build();
 
         Recipe recipe3 = Recipe.builder()
                 .title("Деруни")
                 .description("Картопляні деруни зі сметаною")
-                .ingredients(Arrays.asList("картопля", "цибуля", "яйця", "борошно"))
+                .ingredients(ingredientDictionary.internNames(Arrays.asList("картопля", "цибуля", "яйця", "борошно")))
                 .category(defaultCategory)
                 .build();
 
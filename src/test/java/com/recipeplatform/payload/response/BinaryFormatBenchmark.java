@@ -0,0 +1,90 @@
+package com.recipeplatform.payload.response;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import java.io.OutputStream;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Payload size and encode/decode throughput of a recipe list page as JSON, CBOR and Smile, all written
+ * through the same DTOs and registered serializers the list endpoint uses, from the page that
+ * {@link ResponseSerializationBenchmark} measures. Decoding reads into a tree, as a consumer without
+ * the DTO classes would. Sizes are also given gzip-compressed, since that is what
+ * crosses the wire when compression is on. Not part of the test suite; run with {@code mvn
+ * test-compile exec:java -Dexec.mainClass=com.recipeplatform.payload.response.BinaryFormatBenchmark
+ * -Dexec.classpathScope=test -Dexec.args="100 5000"} (page size, rounds).
+ */
+public class BinaryFormatBenchmark {
+    private static final OutputStream DISCARD = OutputStream.nullOutputStream();
+
+    public static void main(String[] args) throws Exception {
+        int pageSize = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5_000;
+        List<RecipeResponse> page = ResponseSerializationBenchmark.generate(pageSize).stream()
+            .map(RecipeResponse::from).collect(Collectors.toList());
+
+        for (int pass = 0; pass < 3; pass++) {
+            boolean report = pass == 2;
+            run("JSON", new JsonFactory(), page, rounds, report);
+            run("CBOR", new CBORFactory(), page, rounds, report);
+            run("Smile", new SmileFactory(), page, rounds, report);
+        }
+    }
+
+    private static void run(String name, JsonFactory factory, List<RecipeResponse> page, int rounds,
+                            boolean report) throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper(factory).registerModule(ResponseSerializers.module())
+            .configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+        byte[] encoded = objectMapper.writeValueAsBytes(page);
+
+        long start = System.nanoTime();
+        for (int round = 0; round < rounds; round++) {
+            objectMapper.writeValue(DISCARD, page);
+        }
+        long encodeNanos = System.nanoTime() - start;
+
+        long nodes = 0;
+        start = System.nanoTime();
+        for (int round = 0; round < rounds; round++) {
+            JsonNode tree = objectMapper.readTree(encoded);
+            nodes += tree.size();
+        }
+        long decodeNanos = System.nanoTime() - start;
+
+        if (report) {
+            long recipes = (long) rounds * page.size();
+            System.out.printf("%-6s %7d bytes %7d gzipped %,12.0f encoded/s %,12.0f decoded/s%s%n",
+                name, encoded.length, gzippedSize(encoded), recipes / (encodeNanos / 1e9),
+                recipes / (decodeNanos / 1e9), nodes == recipes ? "" : " (decode mismatch)");
+        }
+    }
+
+    private static long gzippedSize(byte[] bytes) throws Exception {
+        CountingOutputStream counter = new CountingOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(counter)) {
+            gzip.write(bytes);
+        }
+        return counter.count;
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.recipeplatform.payload.response;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.recipeplatform.model.Category;
+import com.recipeplatform.model.Recipe;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Allocation per recipe and throughput of the list endpoint's serialization path: the former
+ * per-recipe HashMap DTOs against the typed DTOs with registered serializers. Each round maps a page
+ * of entities and writes it to a discarding stream, the way the controller does. Allocation comes from
+ * the HotSpot per-thread allocation counter. Not part of the test suite; run with {@code mvn
+ * test-compile exec:java -Dexec.mainClass=com.recipeplatform.payload.response.ResponseSerializationBenchmark
+ * -Dexec.classpathScope=test -Dexec.args="100 2000"} (page size, rounds).
+ */
+public class ResponseSerializationBenchmark {
+    private static final OutputStream DISCARD = OutputStream.nullOutputStream();
+
+    public static void main(String[] args) throws Exception {
+        int pageSize = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 2_000;
+        List<Recipe> page = generate(pageSize);
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(ResponseSerializers.module())
+            .configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+
+        for (int pass = 0; pass < 3; pass++) {
+            boolean report = pass == 2;
+            run("HashMap DTOs", objectMapper, page, ResponseSerializationBenchmark::mapDto, rounds, report);
+            run("typed DTOs", objectMapper, page, RecipeResponse::from, rounds, report);
+        }
+    }
+
+    private static void run(String name, ObjectMapper objectMapper, List<Recipe> page,
+                            Function<Recipe, Object> mapper, int rounds, boolean report) throws Exception {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int round = 0; round < rounds; round++) {
+            List<Object> dtos = page.stream().map(mapper).collect(Collectors.toList());
+            objectMapper.writeValue(DISCARD, dtos);
+        }
+        long nanos = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        if (report) {
+            long recipes = (long) rounds * page.size();
+            System.out.printf("%-13s %8.0f bytes/recipe %,12.0f recipes/s%n",
+                name, (double) allocated / recipes, recipes / (nanos / 1e9));
+        }
+    }
+
+    // The mapping GET /api/recipes used before the typed DTOs
+    private static Object mapDto(Recipe recipe) {
+        Map<String, Object> dto = new HashMap<>();
+        dto.put("id", recipe.getId());
+        dto.put("title", recipe.getTitle());
+        dto.put("description", recipe.getDescription());
+        dto.put("ingredients", recipe.getIngredients());
+        if (recipe.getCategory() != null) {
+            Map<String, Object> categoryDto = new HashMap<>();
+            categoryDto.put("id", recipe.getCategory().getId());
+            categoryDto.put("name", recipe.getCategory().getName());
+            categoryDto.put("description", recipe.getCategory().getDescription());
+            dto.put("category", categoryDto);
+        }
+        return dto;
+    }
+
+    // A list page of recipes sharing one category; BinaryFormatBenchmark encodes the same page
+    static List<Recipe> generate(int size) {
+        Category category = Category.builder().id(1L).name("Main Dishes").description("Main course dishes").build();
+        List<Recipe> recipes = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            recipes.add(Recipe.builder()
+                .id(id)
+                .title("Recipe " + id)
+                .description("A hearty dish number " + id + " with a description of typical length for the catalog")
+                .ingredients(List.of("flour", "butter", "salt", "onion " + id, "pepper", "milk"))
+                .category(category)
+                .build());
+        }
+        return recipes;
+    }
+}
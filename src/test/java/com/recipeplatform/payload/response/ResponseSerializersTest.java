@@ -0,0 +1,98 @@
+package com.recipeplatform.payload.response;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.recipeplatform.model.Category;
+import com.recipeplatform.model.Recipe;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseSerializersTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(ResponseSerializers.module());
+
+    private final Category category = Category.builder().id(3L).name("Супи").description("Перші страви").build();
+
+    @Test
+    void recipeResponse_ShouldSerializeLikeTheMapDto() throws Exception {
+        Recipe recipe = Recipe.builder().id(7L).title("Борщ").description(null)
+            .ingredients(Arrays.asList("буряк", "капуста")).category(category).build();
+
+        Map<String, Object> categoryDto = new HashMap<>();
+        categoryDto.put("id", 3L);
+        categoryDto.put("name", "Супи");
+        categoryDto.put("description", "Перші страви");
+        Map<String, Object> dto = new HashMap<>();
+        dto.put("id", 7L);
+        dto.put("title", "Борщ");
+        dto.put("description", null);
+        dto.put("ingredients", recipe.getIngredients());
+        dto.put("category", categoryDto);
+
+        JsonNode expected = objectMapper.readTree(objectMapper.writeValueAsString(dto));
+        JsonNode actual = objectMapper.readTree(objectMapper.writeValueAsString(RecipeResponse.from(recipe)));
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void recipeResponse_WithoutCategory_ShouldOmitCategory() throws Exception {
+        Recipe recipe = Recipe.builder().id(7L).title("Борщ").build();
+
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(List.of(RecipeResponse.from(recipe))));
+
+        assertFalse(json.get(0).has("category"));
+        assertEquals(0, json.get(0).get("ingredients").size());
+    }
+
+    @Test
+    void recipeSummaryResponse_ShouldCarryCategoryName() throws Exception {
+        Recipe recipe = Recipe.builder().id(7L).title("Борщ").description("Довгий опис").category(category).build();
+
+        String json = objectMapper.writeValueAsString(RecipeSummaryResponse.from(recipe));
+
+        assertEquals("{\"id\":7,\"title\":\"Борщ\",\"categoryId\":3,\"categoryName\":\"Супи\"}", json);
+    }
+
+    @Test
+    void sparseRecipeResponse_ShouldWriteOnlyTheSelectedFields() throws Exception {
+        Recipe recipe = Recipe.builder().id(7L).title("Борщ").description("Довгий опис")
+            .ingredients(Arrays.asList("буряк", "капуста")).category(category).build();
+
+        String json = objectMapper.writeValueAsString(
+            SparseRecipeResponse.from(recipe, RecipeField.parse("title, ingredients")));
+
+        assertEquals("{\"id\":7,\"title\":\"Борщ\",\"ingredients\":[\"буряк\",\"капуста\"]}", json);
+    }
+
+    @Test
+    void fieldSelection_ShouldRejectUnknownFields() {
+        IllegalArgumentException error =
+            assertThrows(IllegalArgumentException.class, () -> RecipeField.parse("title,calories"));
+        assertTrue(error.getMessage().contains("calories"));
+        assertEquals(EnumSet.of(CategoryField.ID), CategoryField.parse(""));
+    }
+
+    @Test
+    void binaryFormats_ShouldCarryTheSameTreeAsJson() throws Exception {
+        Recipe recipe = Recipe.builder().id(7L).title("Борщ").description("Довгий опис")
+            .ingredients(Arrays.asList("буряк", "капуста")).category(category).build();
+        List<Object> page = List.of(RecipeResponse.from(recipe), RecipeSummaryResponse.from(recipe),
+            SparseRecipeResponse.from(recipe, RecipeField.parse("title,category")));
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsBytes(page));
+
+        for (JsonFactory factory : List.of(new CBORFactory(), new SmileFactory())) {
+            ObjectMapper binary = new ObjectMapper(factory).registerModule(ResponseSerializers.module());
+            assertEquals(json, binary.readTree(binary.writeValueAsBytes(page)), factory.getFormatName());
+        }
+    }
+}
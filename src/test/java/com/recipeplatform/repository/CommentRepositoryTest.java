@@ -0,0 +1,120 @@
+package com.recipeplatform.repository;
+
+import com.recipeplatform.model.Category;
+import com.recipeplatform.model.Comment;
+import com.recipeplatform.model.Recipe;
+import com.recipeplatform.payload.response.CommentCursor;
+import com.recipeplatform.payload.response.CommentResponse;
+import com.recipeplatform.search.IngredientDictionary;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(IngredientDictionary.class)
+@ActiveProfiles("test")
+class CommentRepositoryTest {
+    private static final LocalDateTime START = LocalDateTime.of(2024, 3, 1, 12, 0);
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private IngredientDictionary ingredientDictionary;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Recipe recipe;
+    private Recipe otherRecipe;
+
+    @BeforeEach
+    void setUp() {
+        Category category = entityManager.persist(Category.builder().name("Супи").build());
+        recipe = entityManager.persist(Recipe.builder().title("Борщ")
+            .ingredients(ingredientDictionary.internNames(Arrays.asList("буряк"))).category(category).build());
+        otherRecipe = entityManager.persist(Recipe.builder().title("Юшка")
+            .ingredients(ingredientDictionary.internNames(Arrays.asList("риба"))).category(category).build());
+    }
+
+    @Test
+    void pages_ShouldFollowNewestFirstAcrossEqualTimestamps() {
+        // Pairs of comments share a timestamp, so the id has to break the tie
+        for (int i = 0; i < 7; i++) {
+            comment(recipe, START.plusMinutes(i / 2));
+            comment(otherRecipe, START.plusMinutes(i));
+        }
+        List<Long> newestFirst = commentRepository.findAll().stream()
+            .filter(comment -> comment.getRecipe().getId().equals(recipe.getId()))
+            .sorted((a, b) -> {
+                int byTime = b.getCreatedAt().compareTo(a.getCreatedAt());
+                return byTime != 0 ? byTime : Long.compare(b.getId(), a.getId());
+            })
+            .map(Comment::getId)
+            .collect(Collectors.toList());
+        entityManager.clear();
+
+        List<Long> paged = new ArrayList<>();
+        List<CommentResponse> page = commentRepository.findPageByRecipeId(recipe.getId(), PageRequest.of(0, 3));
+        while (!page.isEmpty()) {
+            page.forEach(comment -> {
+                assertEquals(recipe.getId(), comment.getRecipeId());
+                paged.add(comment.getId());
+            });
+            CommentCursor cursor = CommentCursor.decode(CommentCursor.of(page.get(page.size() - 1)).encode());
+            page = commentRepository.findPageByRecipeIdBefore(recipe.getId(), cursor.getCreatedAt(), cursor.getId(),
+                PageRequest.of(0, 3));
+        }
+
+        assertEquals(newestFirst, paged);
+        assertEquals(7, paged.size());
+    }
+
+    @Test
+    void page_ShouldNotLoadRecipesOrComments() {
+        for (int i = 0; i < 20; i++) {
+            comment(recipe, START.plusMinutes(i));
+        }
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+            .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<CommentResponse> page = commentRepository.findPageByRecipeIdBefore(recipe.getId(),
+            START.plusMinutes(15), Long.MAX_VALUE, PageRequest.of(0, 10));
+
+        assertEquals(10, page.size());
+        assertEquals(START.plusMinutes(15), page.get(0).getCreatedAt());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void cursor_ShouldRejectGarbage() {
+        assertThrows(IllegalArgumentException.class, () -> CommentCursor.decode("not-a-cursor"));
+    }
+
+    private Comment comment(Recipe target, LocalDateTime createdAt) {
+        Comment comment = new Comment();
+        comment.setText("Коментар");
+        comment.setAuthor("cook");
+        comment.setCreatedAt(createdAt);
+        comment.setRecipe(target);
+        return entityManager.persist(comment);
+    }
+}
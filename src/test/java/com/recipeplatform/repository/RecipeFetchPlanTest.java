@@ -0,0 +1,204 @@
+package com.recipeplatform.repository;
+
+import com.recipeplatform.model.Category;
+import com.recipeplatform.model.Recipe;
+import com.recipeplatform.payload.response.CategoryCountResponse;
+import com.recipeplatform.payload.response.CategoryField;
+import com.recipeplatform.payload.response.RecipeCardResponse;
+import com.recipeplatform.payload.response.RecipeField;
+import com.recipeplatform.payload.response.RecipeSummaryResponse;
+import com.recipeplatform.payload.response.SparseCategoryResponse;
+import com.recipeplatform.payload.response.SparseRecipeResponse;
+import com.recipeplatform.search.IngredientDictionary;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Statement counts must not grow with the number of recipes returned (up to the maximum page size)
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(IngredientDictionary.class)
+@ActiveProfiles("test")
+class RecipeFetchPlanTest {
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private IngredientDictionary ingredientDictionary;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @ParameterizedTest
+    @ValueSource(ints = {3, 40})
+    void findAll_ShouldJoinCategoriesAndBatchIngredients(int recipes) {
+        List<Long> ids = seed(recipes);
+
+        assertStatements(2, recipes, () -> recipeRepository.findAll());
+        assertStatements(2, recipes, () -> recipeRepository.findAllById(ids));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {3, 40})
+    void listPages_ShouldJoinCategoriesAndBatchIngredients(int recipes) {
+        seed(recipes);
+
+        assertStatements(2, recipes, () -> recipeRepository.findAllBy(PageRequest.of(0, 100, Sort.by("id"))).getContent());
+        assertStatements(2, recipes, () -> recipeRepository.findPageOrderById(0L, PageRequest.of(0, 100)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {3, 40})
+    void searches_ShouldJoinCategoriesAndBatchIngredients(int recipes) {
+        seed(recipes);
+
+        assertStatements(2, recipes, () -> recipeRepository.findByTitleContainingIgnoreCase("рецепт"));
+        assertStatements(2, recipes, () -> recipeRepository.searchByTitleOrDescription("рецепт"));
+        assertStatements(2, recipes, () -> recipeRepository.searchPageOrderById("рецепт", 0L, PageRequest.of(0, 100)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {3, 40})
+    void nativeIngredientSearch_ShouldBatchCategoriesAndIngredients(int recipes) {
+        seed(recipes);
+
+        assertStatements(3, recipes, () -> recipeRepository.findByIngredientsContainingIgnoreCase("сіль"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {3, 40})
+    void projections_ShouldRunOneStatementWithoutLoadingEntities(int recipes) {
+        List<Long> ids = seed(recipes);
+        Statistics statistics = statistics();
+
+        List<RecipeSummaryResponse> summaries =
+            recipeRepository.findSummaries(PageRequest.of(0, 100, Sort.by("id"))).getContent();
+        assertEquals(recipes, summaries.size());
+        assertEquals("Категорія 0", summaries.get(0).getCategoryName());
+
+        List<RecipeCardResponse> cards = recipeRepository.findCardPageOrderById(0L, PageRequest.of(0, 100));
+        assertEquals(recipes, cards.size());
+        assertEquals("Опис 0", cards.get(0).getDescription());
+
+        assertEquals(recipes, recipeRepository.findSummariesByIdIn(ids).size());
+
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(0, statistics.getCollectionFetchCount());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {3, 40})
+    void sparseFields_ShouldSelectOnlyTheRequestedColumns(int recipes) {
+        List<Long> ids = seed(recipes);
+        Statistics statistics = statistics();
+
+        List<SparseRecipeResponse> titles = recipeRepository.findFieldsOrderById(RecipeField.parse("title"), null, 0, 100);
+        assertEquals(recipes, titles.size());
+        assertEquals("Рецепт 0", titles.get(0).getTitle());
+        assertNull(titles.get(0).getDescription());
+        assertNull(titles.get(0).getIngredients());
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        // Ingredients of the whole page come from one extra statement
+        List<SparseRecipeResponse> full = recipeRepository.findFieldsByIdIn(
+            RecipeField.parse("ingredients,category"), ids);
+        assertEquals(recipes, full.size());
+        full.forEach(recipe -> {
+            assertEquals(2, recipe.getIngredients().size());
+            assertNotNull(recipe.getCategory().getName());
+        });
+        assertEquals(3, statistics.getPrepareStatementCount());
+
+        List<SparseCategoryResponse> categories =
+            categoryRepository.findFieldsOrderById(CategoryField.parse("name"), null, 0, 100);
+        assertEquals("Категорія 0", categories.get(0).getName());
+        assertNull(categories.get(0).getDescription());
+
+        assertEquals(4, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(0, statistics.getCollectionFetchCount());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {3, 40})
+    void categoryRecipeCounts_ShouldRunOneGroupByWithoutLoadingRecipes(int recipes) {
+        seed(recipes);
+        Category empty = categoryRepository.save(Category.builder().name("Порожня").build());
+        entityManager.flush();
+        Statistics statistics = statistics();
+
+        List<CategoryCountResponse> counts =
+            categoryRepository.findWithRecipeCounts(PageRequest.of(0, 100, Sort.by("id"))).getContent();
+
+        assertEquals(4, counts.size());
+        assertEquals(recipes, counts.stream().mapToLong(CategoryCountResponse::getRecipeCount).sum());
+        assertEquals((recipes + 2) / 3, counts.get(0).getRecipeCount());
+        assertEquals(0, counts.get(3).getRecipeCount());
+        assertEquals(List.of(empty.getId()), categoryRepository
+            .findWithRecipeCountsPageOrderById(counts.get(2).getId(), PageRequest.of(0, 100)).stream()
+            .map(CategoryCountResponse::getId).collect(Collectors.toList()));
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(0, statistics.getCollectionFetchCount());
+    }
+
+    private Statistics statistics() {
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+            .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    private void assertStatements(long expected, int recipes, Supplier<List<Recipe>> query) {
+        Statistics statistics = statistics();
+
+        List<Recipe> result = query.get();
+        result.forEach(recipe -> {
+            assertNotNull(recipe.getCategory().getName());
+            assertEquals(2, recipe.getIngredients().size());
+        });
+
+        assertEquals(recipes, result.size());
+        assertEquals(expected, statistics.getPrepareStatementCount());
+    }
+
+    private List<Long> seed(int recipes) {
+        List<Category> categories = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            categories.add(categoryRepository.save(Category.builder().name("Категорія " + i).build()));
+        }
+        List<Recipe> saved = new ArrayList<>();
+        for (int i = 0; i < recipes; i++) {
+            saved.add(recipeRepository.save(Recipe.builder()
+                .title("Рецепт " + i)
+                .description("Опис " + i)
+                .ingredients(ingredientDictionary.internNames(Arrays.asList("сіль", "інгредієнт " + i)))
+                .category(categories.get(i % categories.size()))
+                .build()));
+        }
+        entityManager.flush();
+        return saved.stream().map(Recipe::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,208 @@
+package com.recipeplatform.repository;
+
+import com.recipeplatform.model.Category;
+import com.recipeplatform.model.Recipe;
+import com.recipeplatform.search.IngredientDictionary;
+import com.recipeplatform.search.SearchCursor;
+import com.recipeplatform.search.SearchSort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(IngredientDictionary.class)
+@ActiveProfiles("test")
+class RecipeRepositoryTest {
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private IngredientDictionary ingredientDictionary;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        category = categoryRepository.save(Category.builder()
+                .name("Основні страви")
+                .description("Основні страви української кухні")
+                .build());
+
+        recipeRepository.saveAll(Arrays.asList(
+                Recipe.builder()
+                        .title("Деруни")
+                        .description("Картопляні деруни з борщем")
+                        .ingredients(ingredientDictionary.internNames(Arrays.asList("картопля", "цибуля")))
+                        .category(category)
+                        .build(),
+                Recipe.builder()
+                        .title("Борщ український")
+                        .description("Традиційний український борщ")
+                        .ingredients(ingredientDictionary.internNames(Arrays.asList("буряк", "капуста")))
+                        .category(category)
+                        .build(),
+                Recipe.builder()
+                        .title("Вареники")
+                        .description("Вареники з картоплею")
+                        .ingredients(ingredientDictionary.internNames(Arrays.asList("борошно", "картопля")))
+                        .category(category)
+                        .build()));
+    }
+
+    @Test
+    void searchByTitleOrDescription_ShouldListTitleMatchesFirst() {
+        List<Recipe> result = recipeRepository.searchByTitleOrDescription("борщ");
+
+        assertEquals(2, result.size());
+        assertEquals("Борщ український", result.get(0).getTitle());
+        assertEquals("Деруни", result.get(1).getTitle());
+    }
+
+    @Test
+    void findAllIngredientRows_ShouldReturnOneRowPerIngredient() {
+        assertEquals(6, recipeRepository.findAllIngredientRows().size());
+    }
+
+    @Test
+    void findByIngredientsContainingIgnoreCase_ShouldMatchDictionaryNames() {
+        List<Recipe> result = recipeRepository.findByIngredientsContainingIgnoreCase("КАРТОП");
+
+        assertEquals(Arrays.asList("Вареники", "Деруни"),
+                titles(result).stream().sorted().collect(Collectors.toList()));
+    }
+
+    @Test
+    void findPageOrderByTitle_ShouldSeekPastCursor() {
+        List<Recipe> first = recipeRepository.findPageOrderByTitle("", 0L, PageRequest.of(0, 2));
+        assertEquals(Arrays.asList("Борщ український", "Вареники"), titles(first));
+
+        Recipe last = first.get(1);
+        List<Recipe> second = recipeRepository.findPageOrderByTitle(last.getTitle(), last.getId(), PageRequest.of(0, 2));
+        assertEquals(Arrays.asList("Деруни"), titles(second));
+    }
+
+    @Test
+    void searchPageOrderByRelevance_ShouldSeekOnRankThenId() {
+        List<Object[]> first = recipeRepository.searchPageOrderByRelevance("борщ", 2, 0L, PageRequest.of(0, 1));
+        Recipe top = (Recipe) first.get(0)[0];
+        assertEquals("Борщ український", top.getTitle());
+        assertEquals(1, ((Number) first.get(0)[1]).intValue());
+
+        List<Object[]> second = recipeRepository.searchPageOrderByRelevance("борщ", 1, top.getId(), PageRequest.of(0, 1));
+        assertEquals("Деруни", ((Recipe) second.get(0)[0]).getTitle());
+        assertEquals(0, ((Number) second.get(0)[1]).intValue());
+    }
+
+    @Test
+    void findPageByIdInOrderByTitle_ShouldOnlyReturnCandidates() {
+        List<Long> ids = recipeRepository.findAll().stream()
+                .filter(recipe -> !recipe.getTitle().startsWith("Борщ"))
+                .map(Recipe::getId)
+                .collect(Collectors.toList());
+
+        List<Recipe> page = recipeRepository.findPageByIdInOrderByTitle(ids, "", 0L, PageRequest.of(0, 10));
+
+        assertEquals(Arrays.asList("Вареники", "Деруни"), titles(page));
+    }
+
+    @Test
+    void searchRankPageByIdInOrderByRelevance_ShouldRankOnlyCandidates() {
+        List<Long> ids = recipeRepository.findIdsMatchingText("борщ");
+
+        List<Object[]> page = recipeRepository.searchRankPageByIdInOrderByRelevance("борщ", ids, 2, 0L,
+                PageRequest.of(0, 10));
+
+        assertEquals(2, page.size());
+        assertEquals(1, ((Number) page.get(0)[1]).intValue());
+        assertEquals(0, ((Number) page.get(1)[1]).intValue());
+    }
+
+    @Test
+    void searchPageExcluding_ShouldFilterExcludedIngredientsInSql() {
+        Map<Long, String> titlesById = recipeRepository.findAll().stream()
+                .collect(Collectors.toMap(Recipe::getId, Recipe::getTitle));
+        List<Object[]> byTitle = recipeRepository.searchPageExcluding(null, false, Arrays.asList("капус"),
+                SearchCursor.first(SearchSort.TITLE), 10);
+        assertEquals(Arrays.asList("Вареники", "Деруни"), byTitle.stream()
+                .map(row -> titlesById.get(((Number) row[0]).longValue()))
+                .collect(Collectors.toList()));
+
+        List<Object[]> byRelevance = recipeRepository.searchPageExcluding("борщ", false, Arrays.asList("капуста"),
+                SearchCursor.first(SearchSort.RELEVANCE), 10);
+        assertEquals(1, byRelevance.size());
+        assertEquals(0, ((Number) byRelevance.get(0)[1]).intValue());
+
+        List<Object[]> counts = recipeRepository.countByCategoryExcluding(null, false, Arrays.asList("картопля"));
+        assertEquals(1L, ((Number) counts.get(0)[1]).longValue());
+    }
+
+    @Test
+    void findIdsMatchingTextIn_ShouldOnlyConsiderCandidates() {
+        List<Long> all = recipeRepository.findIdsMatchingText("борщ");
+        assertEquals(2, all.size());
+
+        List<Long> restricted = recipeRepository.findIdsMatchingTextIn("борщ", all.subList(0, 1));
+        assertEquals(all.subList(0, 1), restricted);
+    }
+
+    @Test
+    void countByCategoryMatchingText_ShouldGroupMatches() {
+        Category desserts = categoryRepository.save(Category.builder().name("Десерти").build());
+        recipeRepository.save(Recipe.builder()
+                .title("Борщ солодкий")
+                .category(desserts)
+                .build());
+
+        List<Object[]> rows = recipeRepository.countByCategoryMatchingText("борщ");
+
+        assertEquals(2, rows.size());
+        for (Object[] row : rows) {
+            long expected = row[0].equals(category.getId()) ? 2L : 1L;
+            assertEquals(expected, ((Number) row[1]).longValue());
+        }
+    }
+
+    @Test
+    void findDocumentRowsUpdatedAfter_ShouldIncludeIngredientOnlyChanges() throws InterruptedException {
+        entityManager.flush();
+        Thread.sleep(5);
+        Instant since = Instant.now();
+        Thread.sleep(5);
+        Recipe recipe = recipeRepository.findAll().get(0);
+
+        List<String> ingredients = new ArrayList<>(recipe.getIngredients());
+        ingredients.add("сіль");
+        recipe.setIngredients(ingredientDictionary.internNames(ingredients));
+        entityManager.flush();
+
+        List<Object[]> rows = recipeRepository.findDocumentRowsUpdatedAfter(since);
+        assertEquals(1, rows.size());
+        assertEquals(recipe.getId(), rows.get(0)[0]);
+        assertEquals(3, recipeRepository.findIngredientRowsUpdatedAfter(since).size());
+    }
+
+    private static List<String> titles(List<Recipe> recipes) {
+        return recipes.stream().map(Recipe::getTitle).collect(Collectors.toList());
+    }
+}
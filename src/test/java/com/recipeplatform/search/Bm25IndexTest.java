@@ -0,0 +1,67 @@
+package com.recipeplatform.search;
+
+import com.recipeplatform.config.SearchProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Bm25IndexTest {
+
+    private Bm25Index index;
+
+    @BeforeEach
+    void setUp() {
+        index = new Bm25Index(new SearchProperties());
+        index.rebuild(Arrays.asList(
+                new RecipeDocument(1L, "Борщ український", "Густий суп з буряком", 10L,
+                        Arrays.asList("буряк", "капуста", "картопля")),
+                new RecipeDocument(2L, "Вінегрет", "Салат, до якого часто подають борщ", 30L,
+                        Arrays.asList("буряк", "огірок")),
+                new RecipeDocument(3L, "Деруни", "Картопляні млинці", 20L,
+                        Arrays.asList("картопля", "цибуля")),
+                new RecipeDocument(4L, "Зелений борщ", "Борщ зі щавлем", 10L,
+                        Arrays.asList("щавель", "картопля", "яйця"))));
+    }
+
+    @Test
+    void search_ShouldRankTitleMatchesAboveDescriptionMatches() {
+        List<Long> ids = ids(index.search("борщ", 10));
+
+        assertEquals(3, ids.size());
+        assertEquals(2L, ids.get(2));
+        assertTrue(ids.containsAll(List.of(1L, 4L)));
+    }
+
+    @Test
+    void search_ShouldKeepOnlyTopK() {
+        List<ScoredRecipe> top = index.search("картопля борщ", 2);
+
+        assertEquals(2, top.size());
+        assertTrue(top.get(0).getScore() >= top.get(1).getScore());
+        assertEquals(List.of(4L, 1L), ids(top));
+    }
+
+    @Test
+    void search_ShouldFavourRareTerms() {
+        List<Long> ids = ids(index.search("цибуля буряк", 10));
+
+        assertEquals(3L, ids.get(0));
+    }
+
+    @Test
+    void remove_ShouldDropRecipeFromResults() {
+        index.remove(4L);
+
+        assertEquals(List.of(1L, 2L), ids(index.search("борщ", 10)));
+        assertTrue(index.search("щавель", 10).isEmpty());
+    }
+
+    private static List<Long> ids(List<ScoredRecipe> scored) {
+        return scored.stream().map(ScoredRecipe::getRecipeId).collect(Collectors.toList());
+    }
+}
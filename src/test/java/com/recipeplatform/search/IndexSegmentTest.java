@@ -0,0 +1,50 @@
+package com.recipeplatform.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndexSegmentTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void open_ShouldReadBackTermsAndDocuments() throws IOException {
+        Path path = directory.resolve("segment.idx");
+        IndexSegment.write(path, 1234L, Arrays.asList(
+                new RecipeDocument(1L, "Борщ", "Червоний борщ", 10L, Arrays.asList("буряк", "картопля")),
+                new RecipeDocument(2L, "Деруни", null, null, Arrays.asList("картопля")),
+                new RecipeDocument(3L, null, null, 10L, List.of())));
+
+        IndexSegment segment = IndexSegment.open(path);
+
+        assertEquals(1234L, segment.checkpoint());
+        assertEquals(2, segment.termCount());
+        assertArrayEquals(new long[] {1L, 2L}, segment.postings("картопля"));
+        assertArrayEquals(new long[0], segment.postings("цибуля"));
+        assertEquals(Arrays.asList(
+                new RecipeDocument(1L, "Борщ", "Червоний борщ", 10L, Arrays.asList("буряк", "картопля")),
+                new RecipeDocument(2L, "Деруни", null, null, Arrays.asList("картопля")),
+                new RecipeDocument(3L, null, null, 10L, List.of())), segment.documents());
+    }
+
+    @Test
+    void open_ShouldRejectTruncatedSegment() throws IOException {
+        Path path = directory.resolve("segment.idx");
+        IndexSegment.write(path, 1L, List.of(new RecipeDocument(1L, "Борщ", null, 10L, List.of("буряк"))));
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 4);
+        }
+
+        assertThrows(IOException.class, () -> IndexSegment.open(path));
+    }
+}
@@ -0,0 +1,93 @@
+package com.recipeplatform.search;
+
+import com.recipeplatform.model.Category;
+import com.recipeplatform.model.Recipe;
+import com.recipeplatform.repository.CategoryRepository;
+import com.recipeplatform.repository.RecipeRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(IngredientDictionary.class)
+@ActiveProfiles("test")
+class IngredientDictionaryTest {
+
+    @Autowired
+    private IngredientDictionary dictionary;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void intern_ShouldReturnSameIdForNormalizedName() {
+        int id = dictionary.intern("Сіль");
+
+        assertEquals(id, dictionary.intern("  СІЛЬ "));
+        assertEquals("сіль", dictionary.nameOf(id));
+    }
+
+    @Test
+    void intern_ShouldTakeOverNameAddedByAnotherInstance() {
+        dictionary.size();
+        jdbcTemplate.update("INSERT INTO ingredients (name) VALUES (?)", "кріп");
+        Integer id = jdbcTemplate.queryForObject("SELECT id FROM ingredients WHERE name = ?", Integer.class, "кріп");
+
+        assertEquals(id, dictionary.intern("Кріп"));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM ingredients WHERE name = ?", Integer.class, "кріп"));
+    }
+
+    @Test
+    void addAlias_ShouldResolveToCanonicalIngredient() {
+        dictionary.addAlias("scallion", "Green Onion");
+
+        assertEquals(dictionary.intern("green onion"), dictionary.intern("Scallion"));
+        assertEquals(Arrays.asList("green onion", "green onion"),
+                dictionary.canonicalNames(Arrays.asList("scallion", "GREEN onion")));
+        assertThrows(IllegalArgumentException.class, () -> dictionary.addAlias("green onion", "leek"));
+    }
+
+    @Test
+    void recipes_ShouldStoreIngredientIdsAndLoadNames() {
+        Category category = categoryRepository.save(Category.builder().name("Супи").build());
+        Recipe first = recipeRepository.save(Recipe.builder().title("Борщ").category(category)
+                .ingredients(dictionary.internNames(Arrays.asList("буряк", "часник"))).build());
+        recipeRepository.save(Recipe.builder().title("Пампушки").category(category)
+                .ingredients(dictionary.internNames(Arrays.asList("борошно", "часник"))).build());
+        entityManager.flush();
+        entityManager.clear();
+
+        Integer garlic = dictionary.idOf("часник");
+        assertEquals(2, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM recipe_ingredients WHERE ingredient_id = ?", Integer.class, garlic));
+        assertEquals(List.of("буряк", "часник"), recipeRepository.findById(first.getId()).get().getIngredients());
+    }
+
+    @Test
+    void recipes_ShouldRejectIngredientsThatWereNotInterned() {
+        Category category = categoryRepository.save(Category.builder().name("Салати").build());
+        recipeRepository.save(Recipe.builder().title("Олів'є").category(category)
+                .ingredients(Arrays.asList("горошок")).build());
+
+        assertThrows(RuntimeException.class, () -> entityManager.flush());
+    }
+}
@@ -0,0 +1,74 @@
+package com.recipeplatform.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IngredientIndexTest {
+
+    private IngredientIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new IngredientIndex();
+        index.rebuild(Arrays.asList(
+                document(1L, "буряк", "Картопля"),
+                document(2L, "картопля", "цибуля"),
+                document(3L, "Sweet Potato")));
+    }
+
+    @Test
+    void search_ShouldMatchNormalizedTerm() {
+        assertEquals(Set.of(1L, 2L), index.search("  КАРТОПЛЯ "));
+    }
+
+    @Test
+    void search_ShouldMatchSubstring() {
+        assertEquals(Set.of(3L), index.search("potato"));
+    }
+
+    @Test
+    void matchingTerms_ShouldEstimateWithoutMaterializing() {
+        Set<String> terms = index.matchingTerms("карто");
+
+        assertEquals(Set.of("картопля"), terms);
+        assertEquals(2, index.postingCount(terms));
+        assertEquals(Set.of(1L, 2L), index.recipesWithAny(terms));
+    }
+
+    @Test
+    void retainAndRemoveHavingAny_ShouldProbeRecipeTerms() {
+        Set<Long> candidates = new TreeSet<>(Set.of(1L, 2L, 3L));
+        index.retainHavingAny(candidates, index.matchingTerms("картопля"));
+        assertEquals(Set.of(1L, 2L), candidates);
+
+        index.removeHavingAny(candidates, index.matchingTerms("буряк"));
+        assertEquals(Set.of(2L), candidates);
+    }
+
+    @Test
+    void index_ShouldReplacePreviousIngredients() {
+        index.index(document(1L, "морква"));
+
+        assertEquals(Set.of(2L), index.search("картопля"));
+        assertEquals(Set.of(1L), index.search("морква"));
+        assertTrue(index.search("буряк").isEmpty());
+    }
+
+    @Test
+    void remove_ShouldDropRecipeAndEmptyTerms() {
+        index.remove(3L);
+
+        assertTrue(index.search("potato").isEmpty());
+        assertEquals(3, index.termCount());
+    }
+
+    private static RecipeDocument document(Long id, String... ingredients) {
+        return new RecipeDocument(id, "Recipe " + id, null, 1L, Arrays.asList(ingredients));
+    }
+}
@@ -0,0 +1,126 @@
+package com.recipeplatform.search;
+
+import com.recipeplatform.config.SearchProperties;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Recall and latency of {@link MinHashIndex#similar} against a brute-force Jaccard scan over a synthetic
+ * catalog. Recipes are generated around shared "base dishes" with Zipf-distributed extra ingredients,
+ * so near duplicates exist the way they do in real catalogs. Not part of the test suite; run with
+ * {@code mvn test-compile exec:java -Dexec.mainClass=com.recipeplatform.search.MinHashIndexBenchmark
+ * -Dexec.classpathScope=test -Dexec.args="100000 1000000"}.
+ */
+public class MinHashIndexBenchmark {
+    private static final int VOCABULARY = 5_000;
+    private static final int QUERIES = 200;
+    private static final int K = 10;
+
+    public static void main(String[] args) {
+        int[] sizes = args.length > 0 ? Arrays.stream(args).mapToInt(Integer::parseInt).toArray()
+            : new int[] {100_000, 1_000_000};
+        for (int size : sizes) {
+            run(size);
+        }
+    }
+
+    private static void run(int size) {
+        SplittableRandom random = new SplittableRandom(42);
+        List<RecipeDocument> documents = generate(size, random);
+        List<long[]> hashes = documents.stream()
+            .map(document -> MinHashIndex.ingredientHashes(document.getIngredients()))
+            .collect(Collectors.toList());
+
+        MinHashIndex index = new MinHashIndex(new SearchProperties());
+        long start = System.nanoTime();
+        index.rebuild(documents);
+        long buildMillis = (System.nanoTime() - start) / 1_000_000;
+
+        long lshNanos = 0;
+        long bruteNanos = 0;
+        int found = 0;
+        int relevant = 0;
+        for (int q = 0; q < QUERIES; q++) {
+            int query = random.nextInt(size);
+
+            start = System.nanoTime();
+            List<ScoredRecipe> approximate = index.similar((long) query, K);
+            lshNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            List<ScoredRecipe> exact = bruteForce(hashes, query);
+            bruteNanos += System.nanoTime() - start;
+
+            // Recall by similarity value, so ties at the k-th place do not count as misses
+            double threshold = exact.isEmpty() ? 1 : exact.get(exact.size() - 1).getScore();
+            Set<Long> exactIds = exact.stream().map(ScoredRecipe::getRecipeId).collect(Collectors.toSet());
+            relevant += exact.size();
+            found += (int) approximate.stream()
+                .filter(hit -> exactIds.contains(hit.getRecipeId()) || hit.getScore() >= threshold)
+                .count();
+        }
+
+        System.out.printf("%,d recipes: build %d ms, recall@%d %.3f, LSH %.3f ms/query, brute force %.3f ms/query%n",
+            size, buildMillis, K, relevant == 0 ? 1.0 : (double) found / relevant,
+            lshNanos / 1e6 / QUERIES, bruteNanos / 1e6 / QUERIES);
+    }
+
+    private static List<ScoredRecipe> bruteForce(List<long[]> hashes, int query) {
+        Comparator<ScoredRecipe> worstFirst = Comparator.comparingDouble(ScoredRecipe::getScore);
+        PriorityQueue<ScoredRecipe> top = new PriorityQueue<>(K + 1, worstFirst);
+        long[] target = hashes.get(query);
+        for (int i = 0; i < hashes.size(); i++) {
+            if (i == query) {
+                continue;
+            }
+            double similarity = MinHashIndex.jaccard(target, hashes.get(i));
+            if (similarity > 0 && (top.size() < K || similarity > top.peek().getScore())) {
+                top.add(new ScoredRecipe((long) i, similarity));
+                if (top.size() > K) {
+                    top.poll();
+                }
+            }
+        }
+        List<ScoredRecipe> result = new ArrayList<>(top);
+        result.sort(worstFirst.reversed());
+        return result;
+    }
+
+    private static List<RecipeDocument> generate(int size, SplittableRandom random) {
+        int dishes = Math.max(1, size / 20);
+        List<List<String>> bases = new ArrayList<>(dishes);
+        for (int d = 0; d < dishes; d++) {
+            bases.add(ingredients(random, 4 + random.nextInt(5)));
+        }
+
+        List<RecipeDocument> documents = new ArrayList<>(size);
+        for (int id = 0; id < size; id++) {
+            Set<String> ingredients = new HashSet<>(bases.get(random.nextInt(dishes)));
+            // Drop one base ingredient now and then and add a few variations
+            if (random.nextInt(3) == 0 && ingredients.size() > 1) {
+                ingredients.remove(ingredients.iterator().next());
+            }
+            ingredients.addAll(ingredients(random, random.nextInt(4)));
+            documents.add(new RecipeDocument((long) id, null, null, null, new ArrayList<>(ingredients)));
+        }
+        return documents;
+    }
+
+    private static List<String> ingredients(SplittableRandom random, int count) {
+        List<String> ingredients = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            // Zipf-like: low ranks (salt, onion, ...) are far more common
+            int rank = (int) Math.floor(Math.pow(VOCABULARY, random.nextDouble()));
+            ingredients.add("ingredient-" + rank);
+        }
+        return ingredients;
+    }
+}
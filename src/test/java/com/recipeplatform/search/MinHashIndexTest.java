@@ -0,0 +1,66 @@
+package com.recipeplatform.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MinHashIndexTest {
+
+    private MinHashIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new MinHashIndex(32, 4);
+        index.rebuild(Arrays.asList(
+                document(1L, "буряк", "капуста", "картопля", "морква", "цибуля"),
+                document(2L, "буряк", "капуста", "картопля", "морква", "квасоля"),
+                document(3L, "буряк", "капуста", "картопля", "часник"),
+                document(4L, "борошно", "яйця", "молоко"),
+                document(5L)));
+    }
+
+    @Test
+    void similar_ShouldRankByJaccardSimilarity() {
+        List<ScoredRecipe> similar = index.similar(1L, 10);
+
+        assertEquals(List.of(2L, 3L), ids(similar));
+        assertEquals(4.0 / 6, similar.get(0).getScore(), 1e-9);
+        assertEquals(3.0 / 6, similar.get(1).getScore(), 1e-9);
+    }
+
+    @Test
+    void similar_ShouldHonourLimitAndUnknownRecipes() {
+        assertEquals(List.of(2L), ids(index.similar(1L, 1)));
+        assertTrue(index.similar(5L, 10).isEmpty());
+        assertTrue(index.similar(42L, 10).isEmpty());
+    }
+
+    @Test
+    void index_ShouldMoveRecipeToNewBuckets() {
+        index.index(document(4L, "буряк", "капуста", "картопля", "морква", "цибуля"));
+        index.remove(2L);
+
+        assertEquals(List.of(4L, 3L), ids(index.similar(1L, 10)));
+    }
+
+    @Test
+    void jaccard_ShouldCompareSortedHashSets() {
+        long[] a = MinHashIndex.ingredientHashes(Arrays.asList("Сіль", "перець"));
+        long[] b = MinHashIndex.ingredientHashes(Arrays.asList("сіль ", "цукор", "СІЛЬ"));
+
+        assertEquals(1.0 / 3, MinHashIndex.jaccard(a, b), 1e-9);
+    }
+
+    private static RecipeDocument document(Long id, String... ingredients) {
+        return new RecipeDocument(id, "Recipe " + id, null, 1L, Arrays.asList(ingredients));
+    }
+
+    private static List<Long> ids(List<ScoredRecipe> scored) {
+        return scored.stream().map(ScoredRecipe::getRecipeId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,71 @@
+package com.recipeplatform.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PantryIndexTest {
+
+    private PantryIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new PantryIndex();
+        index.rebuild(Arrays.asList(
+                document(1L, "буряк", "капуста", "морква", "картопля"),
+                document(2L, "борошно", "картопля", "цибуля"),
+                document(3L, "картопля", "цибуля")));
+    }
+
+    @Test
+    void match_ShouldRankByCoverageThenMissingCount() {
+        List<PantryMatch> matches = index.match(Arrays.asList("Картопля", "цибуля", "сіль"), 10);
+
+        assertEquals(3, matches.size());
+        assertEquals(3L, matches.get(0).getRecipeId());
+        assertEquals(1.0, matches.get(0).getCoverage());
+        assertEquals(2L, matches.get(1).getRecipeId());
+        assertEquals(Arrays.asList("борошно"), matches.get(1).getMissingIngredients());
+        assertEquals(1L, matches.get(2).getRecipeId());
+        assertEquals(3, matches.get(2).getMissingCount());
+    }
+
+    @Test
+    void match_ShouldKeepOnlyTopResults() {
+        List<PantryMatch> matches = index.match(Arrays.asList("картопля"), 1);
+
+        assertEquals(1, matches.size());
+        assertEquals(3L, matches.get(0).getRecipeId());
+    }
+
+    @Test
+    void match_ShouldSkipRemovedAndUnmatchedRecipes() {
+        index.remove(3L);
+
+        List<PantryMatch> matches = index.match(Arrays.asList("борошно"), 10);
+
+        assertEquals(1, matches.size());
+        assertEquals(2L, matches.get(0).getRecipeId());
+    }
+
+    @Test
+    void index_ShouldHandleDictionaryGrowthBeyondOneWord() {
+        for (long id = 10; id < 80; id++) {
+            index.index(document(id, "ingredient-" + id));
+        }
+        index.index(document(2L, "борошно", "ingredient-79"));
+
+        List<PantryMatch> matches = index.match(Arrays.asList("ingredient-79", "борошно"), 10);
+
+        assertEquals(2L, matches.get(0).getRecipeId());
+        assertEquals(2, matches.get(0).getMatchedCount());
+    }
+
+    private static RecipeDocument document(Long id, String... ingredients) {
+        return new RecipeDocument(id, "Recipe " + id, null, 1L, Arrays.asList(ingredients));
+    }
+}
@@ -0,0 +1,28 @@
+package com.recipeplatform.search;
+
+import com.recipeplatform.config.SearchProperties;
+import com.recipeplatform.repository.RecipeRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PgTrigramSearchTest {
+
+    @Test
+    void similarTitles_ShouldApplyConfiguredThreshold() {
+        RecipeRepository recipeRepository = mock(RecipeRepository.class);
+        SearchProperties searchProperties = new SearchProperties();
+        searchProperties.setTrigramThreshold(0.15);
+        when(recipeRepository.findSimilarTitles("борш", 0.15, 5))
+                .thenReturn(List.<Object[]>of(new Object[] {1L, "Борщ", 0.5f}));
+
+        List<FuzzyMatch> matches = new PgTrigramSearch(recipeRepository, searchProperties).similarTitles(" Борш ", 5);
+
+        assertEquals(1, matches.size());
+        assertEquals("Борщ", matches.get(0).getText());
+        verify(recipeRepository).setSimilarityThreshold(0.15);
+    }
+}
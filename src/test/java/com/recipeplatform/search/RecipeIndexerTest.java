@@ -0,0 +1,85 @@
+package com.recipeplatform.search;
+
+import com.recipeplatform.config.SearchProperties;
+import com.recipeplatform.repository.RecipeRepository;
+import com.recipeplatform.repository.RecipeTombstoneRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class RecipeIndexerTest {
+
+    @TempDir
+    Path directory;
+
+    private RecipeRepository recipeRepository;
+    private RecipeTombstoneRepository tombstoneRepository;
+    private IngredientIndex ingredientIndex;
+    private SearchProperties searchProperties;
+    private RecipeIndexer indexer;
+
+    @BeforeEach
+    void setUp() {
+        searchProperties = new SearchProperties();
+        searchProperties.setSegmentDirectory(directory.toString());
+        recipeRepository = mock(RecipeRepository.class);
+        tombstoneRepository = mock(RecipeTombstoneRepository.class);
+        ingredientIndex = new IngredientIndex();
+        indexer = new RecipeIndexer(recipeRepository, tombstoneRepository, new IndexSegmentStore(searchProperties),
+                searchProperties, List.of(ingredientIndex));
+    }
+
+    @Test
+    void rebuild_ShouldReplayOnlyChangesSinceCheckpoint() {
+        when(recipeRepository.findAllDocumentRows()).thenReturn(rows(
+                new Object[] {1L, "Борщ", null, 10L},
+                new Object[] {2L, "Деруни", null, 10L},
+                new Object[] {3L, "Вареники", null, 20L}));
+        when(recipeRepository.findAllIngredientRows()).thenReturn(rows(
+                new Object[] {1L, "буряк"}, new Object[] {2L, "картопля"}, new Object[] {3L, "картопля"}));
+        indexer.rebuild();
+
+        when(recipeRepository.findDocumentRowsUpdatedAfter(any())).thenReturn(rows(
+                new Object[] {2L, "Деруни", null, 10L}, new Object[] {4L, "Салат", null, 30L}));
+        when(recipeRepository.findIngredientRowsUpdatedAfter(any())).thenReturn(rows(
+                new Object[] {2L, "цибуля"}, new Object[] {4L, "картопля"}));
+        when(tombstoneRepository.findRecipeIdsDeletedAfter(any())).thenReturn(List.of(3L));
+        indexer.rebuild();
+
+        verify(recipeRepository, times(1)).findAllDocumentRows();
+        assertEquals(Set.of(4L), ingredientIndex.search("картопля"));
+        assertEquals(Set.of(2L), ingredientIndex.search("цибуля"));
+        assertEquals(Set.of(1L), ingredientIndex.search("буряк"));
+    }
+
+    @Test
+    void withoutSegments_ShouldNeitherWriteTombstonesNorKeepThem() {
+        when(recipeRepository.findAllDocumentRows()).thenReturn(rows(new Object[] {1L, "Борщ", null, 10L}));
+        when(recipeRepository.findAllIngredientRows()).thenReturn(rows(new Object[] {1L, "буряк"}));
+        indexer.rebuild();
+        assertTrue(new IndexSegmentStore(searchProperties).openLatest().isPresent());
+
+        searchProperties.setSegments(false);
+        indexer.rebuild();
+        indexer.removeAfterCommit(List.of(1L));
+
+        assertTrue(new IndexSegmentStore(searchProperties).openLatest().isEmpty());
+        verify(tombstoneRepository, times(2)).deleteOlderThan(any());
+        verify(tombstoneRepository, never()).saveAll(any());
+        assertTrue(ingredientIndex.search("буряк").isEmpty());
+    }
+
+    private static List<Object[]> rows(Object[]... rows) {
+        return new ArrayList<>(Arrays.asList(rows));
+    }
+}
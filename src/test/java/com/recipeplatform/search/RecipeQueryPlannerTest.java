@@ -0,0 +1,121 @@
+package com.recipeplatform.search;
+
+import com.recipeplatform.config.SearchProperties;
+import com.recipeplatform.repository.RecipeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class RecipeQueryPlannerTest {
+
+    private RecipeRepository recipeRepository;
+    private SearchProperties searchProperties;
+    private RecipeQueryPlanner planner;
+
+    @BeforeEach
+    void setUp() {
+        List<RecipeDocument> documents = Arrays.asList(
+                new RecipeDocument(1L, "Борщ", null, 10L, Arrays.asList("буряк", "картопля", "капуста")),
+                new RecipeDocument(2L, "Вареники", null, 20L, Arrays.asList("борошно", "картопля")),
+                new RecipeDocument(3L, "Деруни", null, 20L, Arrays.asList("картопля", "цибуля")),
+                new RecipeDocument(4L, "Салат", null, 30L, Arrays.asList("капуста", "морква")));
+        IngredientIndex ingredientIndex = new IngredientIndex();
+        ingredientIndex.rebuild(documents);
+        CategoryIndex categoryIndex = new CategoryIndex();
+        categoryIndex.rebuild(documents);
+
+        recipeRepository = mock(RecipeRepository.class);
+        searchProperties = new SearchProperties();
+        searchProperties.setFullText(false);
+        planner = new RecipeQueryPlanner(ingredientIndex, categoryIndex, recipeRepository, searchProperties);
+    }
+
+    @Test
+    void candidates_ShouldIntersectAllIngredientsAndCategories() {
+        RecipeQuery query = RecipeQuery.builder()
+                .ingredients(Arrays.asList("картопля", "цибуля"))
+                .categoryIds(Arrays.asList(20L))
+                .build();
+
+        assertEquals(Set.of(3L), planner.candidates(query));
+        verifyNoInteractions(recipeRepository);
+    }
+
+    @Test
+    void candidates_ShouldUniteAnyIngredientsAndSubtractExclusions() {
+        RecipeQuery query = RecipeQuery.builder()
+                .ingredients(Arrays.asList("буряк", "морква", "борошно"))
+                .matchAllIngredients(false)
+                .excludedIngredients(Arrays.asList("капуста"))
+                .build();
+
+        assertEquals(Set.of(2L), planner.candidates(query));
+    }
+
+    @Test
+    void candidates_ShouldRestrictTextPredicateToCandidates() {
+        when(recipeRepository.findIdsMatchingTextIn(eq("деруни"), any())).thenReturn(Arrays.asList(3L));
+        RecipeQuery query = RecipeQuery.builder()
+                .text(" деруни ")
+                .ingredients(Arrays.asList("картопля"))
+                .build();
+
+        assertEquals(Set.of(3L), planner.candidates(query));
+        verify(recipeRepository, never()).findIdsMatchingText(anyString());
+    }
+
+    @Test
+    void candidates_ShouldMatchTextAcrossTableWhenCandidatesAreMany() {
+        searchProperties.setInListLimit(2);
+        when(recipeRepository.findIdsMatchingText("борщ")).thenReturn(Arrays.asList(1L, 4L));
+        RecipeQuery query = RecipeQuery.builder()
+                .text("борщ")
+                .ingredients(Arrays.asList("картопля"))
+                .build();
+
+        assertEquals(Set.of(1L), planner.candidates(query));
+    }
+
+    @Test
+    void candidates_ShouldStopEarlyWhenIntersectionIsEmpty() {
+        RecipeQuery query = RecipeQuery.builder()
+                .text("борщ")
+                .ingredients(Arrays.asList("морква", "цибуля"))
+                .build();
+
+        assertTrue(planner.candidates(query).isEmpty());
+        verifyNoInteractions(recipeRepository);
+    }
+
+    @Test
+    void candidates_ShouldProbeIngredientSubstringsAgainstSmallestCategory() {
+        RecipeQuery query = RecipeQuery.builder()
+                .ingredients(Arrays.asList("карто"))
+                .categoryIds(Arrays.asList(20L))
+                .excludedIngredients(Arrays.asList("цибуля"))
+                .build();
+
+        assertEquals(Set.of(2L), planner.candidates(query));
+        verifyNoInteractions(recipeRepository);
+    }
+
+    @Test
+    void candidates_ShouldRejectQueriesWithOnlyExclusions() {
+        RecipeQuery query = RecipeQuery.builder()
+                .text("борщ")
+                .excludedIngredients(Arrays.asList("капуста"))
+                .build();
+
+        assertThrows(IllegalArgumentException.class, () -> planner.candidates(query));
+        verifyNoInteractions(recipeRepository);
+    }
+}
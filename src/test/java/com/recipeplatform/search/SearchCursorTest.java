@@ -0,0 +1,26 @@
+package com.recipeplatform.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchCursorTest {
+
+    @Test
+    void encode_ShouldRoundTrip() {
+        SearchCursor cursor = new SearchCursor(SearchSort.RELEVANCE, 42L, 0.0607927f, "Борщ\nукраїнський");
+
+        assertEquals(cursor, SearchCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void decode_ShouldRejectGarbage() {
+        assertThrows(IllegalArgumentException.class, () -> SearchCursor.decode("not-a-cursor"));
+    }
+
+    @Test
+    void sortFrom_ShouldRejectUnknownValue() {
+        assertEquals(SearchSort.TITLE, SearchSort.from(" Title "));
+        assertThrows(IllegalArgumentException.class, () -> SearchSort.from("rating"));
+    }
+}
@@ -0,0 +1,127 @@
+package com.recipeplatform.search;
+
+import com.recipeplatform.config.SearchProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchResultCacheTest {
+
+    private SearchResultCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new SearchResultCache(new SearchProperties());
+    }
+
+    @Test
+    void key_ShouldMatchEquivalentQueries() {
+        put(text("Borscht"), 1L);
+
+        SearchResultCache.CachedPage page = cache.get(key(text("  BORSCHT ")));
+        assertEquals(List.of(1L), page.getIds());
+        assertNull(cache.get(SearchResultCache.Key.of(text("borscht"), SearchSort.TITLE, 20, false)));
+
+        put(RecipeQuery.builder().ingredients(List.of("dill", "beet", "dill")).build(), 2L);
+        assertNotNull(cache.get(key(RecipeQuery.builder().ingredients(List.of("beet", "dill")).build())));
+    }
+
+    @Test
+    void put_ShouldSkipPagesSearchedBeforeAWrite() {
+        long searchedAt = cache.generation();
+        cache.remove(5L);
+
+        cache.put(key(text("borscht")), page(1L), searchedAt);
+
+        assertNull(cache.get(key(text("borscht"))));
+    }
+
+    @Test
+    void index_ShouldInvalidateQueriesMatchingNewRecipe() {
+        put(text("borscht"), 1L);
+        put(text("varenyky"), 3L);
+
+        cache.index(new RecipeDocument(2L, "Green Borscht", null, 1L, List.of("sorrel")));
+
+        assertNull(cache.get(key(text("borscht"))));
+        assertNotNull(cache.get(key(text("varenyky"))));
+        assertEquals(1, cache.invalidationCount());
+    }
+
+    @Test
+    void index_ShouldInvalidateQueriesContainingEditedRecipe() {
+        put(RecipeQuery.builder().ingredients(List.of("beet")).build(), 1L);
+
+        cache.index(new RecipeDocument(1L, "Borscht", null, 1L, List.of("cabbage")));
+
+        assertEquals(1, cache.invalidationCount());
+    }
+
+    @Test
+    void index_ShouldInvalidateIngredientQueriesMatchedBySubstring() {
+        put(RecipeQuery.builder().ingredients(List.of("beet")).build(), 1L);
+        put(RecipeQuery.builder().ingredients(List.of("beet", "dill")).build(), 1L);
+
+        cache.index(new RecipeDocument(2L, "Borscht", null, 1L, List.of("Beetroot")));
+
+        assertNull(cache.get(key(RecipeQuery.builder().ingredients(List.of("beet")).build())));
+        assertNotNull(cache.get(key(RecipeQuery.builder().ingredients(List.of("beet", "dill")).build())));
+    }
+
+    @Test
+    void index_ShouldMatchSetPredicatesAndEveryTextWord() {
+        put(text("sour cream"), 1L);
+        put(text("dill"), 1L);
+        put(RecipeQuery.builder().categoryIds(List.of(2L)).build(), 1L);
+        put(RecipeQuery.builder().ingredients(List.of("quark", "egg")).build(), 1L);
+        put(RecipeQuery.builder().ingredients(List.of("quark", "raisin")).matchAllIngredients(false).build(), 1L);
+
+        cache.index(new RecipeDocument(2L, "Syrniki", "Served with sour cream", 1L, List.of("quark")));
+
+        assertEquals(2, cache.invalidationCount());
+        assertNull(cache.get(key(text("sour cream"))));
+    }
+
+    @Test
+    void writes_ShouldInvalidatePagesWithFacets() {
+        SearchResultCache.Key withFacets = SearchResultCache.Key.of(text("varenyky"), SearchSort.ID, 20, true);
+        cache.put(withFacets, new SearchResultCache.CachedPage(List.of(3L), List.of(0f), Map.of(1L, 1L)),
+            cache.generation());
+
+        cache.remove(9L);
+
+        assertNull(cache.get(withFacets));
+    }
+
+    @Test
+    void remove_ShouldInvalidateOnlyQueriesContainingRecipe() {
+        put(text("borscht"), 1L);
+        put(text("varenyky"), 3L);
+
+        cache.remove(1L);
+
+        assertNull(cache.get(key(text("borscht"))));
+        assertNotNull(cache.get(key(text("varenyky"))));
+    }
+
+    private void put(RecipeQuery query, Long... ids) {
+        cache.put(key(query), page(ids), cache.generation());
+    }
+
+    private static SearchResultCache.CachedPage page(Long... ids) {
+        return new SearchResultCache.CachedPage(Arrays.asList(ids), Arrays.asList(new Float[ids.length]), null);
+    }
+
+    private static SearchResultCache.Key key(RecipeQuery query) {
+        return SearchResultCache.Key.of(query, SearchSort.ID, 20, false);
+    }
+
+    private static RecipeQuery text(String text) {
+        return RecipeQuery.builder().text(text).build();
+    }
+}
@@ -0,0 +1,63 @@
+package com.recipeplatform.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SuggestionIndexTest {
+
+    private SuggestionIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new SuggestionIndex();
+        index.rebuild(Arrays.asList(
+                new RecipeDocument(1L, "Pasta Carbonara", null, 1L, Arrays.asList("pasta", "pancetta", "egg")),
+                new RecipeDocument(2L, "Pasta al Pomodoro", null, 1L, Arrays.asList("pasta", "tomato")),
+                new RecipeDocument(3L, "Pancakes", null, 1L, Arrays.asList("flour", "egg", "milk"))));
+    }
+
+    @Test
+    void suggestTitles_ShouldMatchPrefixCaseInsensitively() {
+        assertEquals(Arrays.asList("Pancakes", "Pasta al Pomodoro", "Pasta Carbonara"),
+                texts(index.suggestTitles("PA", 10)));
+        assertEquals(Arrays.asList("Pasta al Pomodoro"), texts(index.suggestTitles("pasta a", 10)));
+    }
+
+    @Test
+    void suggestIngredients_ShouldRankByRecipeCount() {
+        List<Suggestion> suggestions = index.suggestIngredients("p", 2);
+
+        assertEquals(Arrays.asList("pasta", "pancetta"), texts(suggestions));
+        assertEquals(2, suggestions.get(0).getRecipeCount());
+    }
+
+    @Test
+    void index_ShouldReplaceAndPruneOldKeys() {
+        index.index(new RecipeDocument(1L, "Risotto", null, 1L, Arrays.asList("rice")));
+
+        assertEquals(Arrays.asList("Pasta al Pomodoro"), texts(index.suggestTitles("pasta", 10)));
+        assertTrue(index.suggestIngredients("panc", 10).isEmpty());
+        assertEquals(1, index.suggestIngredients("pasta", 10).get(0).getRecipeCount());
+    }
+
+    @Test
+    void remove_ShouldShrinkEstimatedFootprint() {
+        long before = index.estimatedBytes();
+
+        index.remove(1L);
+        index.remove(2L);
+
+        assertTrue(index.estimatedBytes() < before);
+        assertTrue(index.suggestTitles("pasta", 10).isEmpty());
+    }
+
+    private static List<String> texts(List<Suggestion> suggestions) {
+        return suggestions.stream().map(Suggestion::getText).collect(Collectors.toList());
+    }
+}
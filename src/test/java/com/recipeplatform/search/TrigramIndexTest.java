@@ -0,0 +1,57 @@
+package com.recipeplatform.search;
+
+import com.recipeplatform.config.SearchProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrigramIndexTest {
+
+    private TrigramIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TrigramIndex(new SearchProperties());
+        index.rebuild(Arrays.asList(
+                new RecipeDocument(1L, "Spaghetti Carbonara", null, 1L, Arrays.asList("spaghetti", "pancetta")),
+                new RecipeDocument(2L, "Borscht", null, 1L, Arrays.asList("beetroot", "cabbage")),
+                new RecipeDocument(3L, "Spaghetti Bolognese", null, 1L, Arrays.asList("spaghetti", "beef"))));
+    }
+
+    @Test
+    void trigrams_ShouldPadWordsLikePgTrgm() {
+        assertEquals(Set.of("  c", " ca", "cat", "at "), Trigrams.of("Cat"));
+    }
+
+    @Test
+    void similarTitles_ShouldTolerateTypos() {
+        List<FuzzyMatch> matches = index.similarTitles("spagetti carbonarra", 10);
+
+        assertEquals(1L, matches.get(0).getRecipeId());
+        assertEquals("Spaghetti Carbonara", matches.get(0).getText());
+        for (int i = 1; i < matches.size(); i++) {
+            assertTrue(matches.get(i - 1).getSimilarity() >= matches.get(i).getSimilarity());
+        }
+    }
+
+    @Test
+    void similarIngredients_ShouldReturnDistinctNames() {
+        List<FuzzyMatch> matches = index.similarIngredients("spagheti", 10);
+
+        assertEquals(1, matches.size());
+        assertEquals("spaghetti", matches.get(0).getText());
+    }
+
+    @Test
+    void remove_ShouldDropIngredientWhenLastRecipeGoes() {
+        index.remove(2L);
+
+        assertTrue(index.similarIngredients("cabbge", 10).isEmpty());
+        assertTrue(index.similarTitles("borsch", 10).isEmpty());
+    }
+}
@@ -0,0 +1,73 @@
+package com.recipeplatform.service;
+
+import com.recipeplatform.model.Category;
+import com.recipeplatform.model.Recipe;
+import com.recipeplatform.model.VersionStamp;
+import com.recipeplatform.repository.CatalogVersionRepository;
+import com.recipeplatform.repository.RecipeRepository;
+import com.recipeplatform.search.IngredientDictionary;
+import com.recipeplatform.service.impl.CatalogVersionServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(IngredientDictionary.class)
+@ActiveProfiles("test")
+class CatalogVersionServiceTest {
+
+    @Autowired
+    private CatalogVersionRepository catalogVersionRepository;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private CatalogVersionService catalogVersionService;
+
+    @BeforeEach
+    void setUp() {
+        catalogVersionService = new CatalogVersionServiceImpl(catalogVersionRepository);
+    }
+
+    @Test
+    void bump_ShouldCreateTheCounterAndThenIncrementIt() {
+        assertEquals(new VersionStamp(0L, null), catalogVersionService.current());
+
+        catalogVersionService.bump();
+        entityManager.flush();
+        entityManager.clear();
+        VersionStamp first = catalogVersionService.current();
+        assertEquals(1L, first.getVersion());
+        assertNotNull(first.getModifiedAt());
+
+        catalogVersionService.bump();
+        entityManager.clear();
+        assertEquals(2L, catalogVersionService.current().getVersion());
+    }
+
+    @Test
+    void findVersionStampById_ShouldFollowTheOptimisticLockVersion() {
+        Category category = entityManager.persist(Category.builder().name("Страви з тіста").build());
+        Recipe recipe = recipeRepository.save(Recipe.builder().title("Вареники").category(category).build());
+        entityManager.flush();
+        assertEquals(0L, recipeRepository.findVersionStampById(recipe.getId()).orElseThrow().getVersion());
+
+        recipe.setTitle("Вареники з вишнями");
+        entityManager.flush();
+        entityManager.clear();
+        VersionStamp stamp = recipeRepository.findVersionStampById(recipe.getId()).orElseThrow();
+        assertEquals(1L, stamp.getVersion());
+        assertNotNull(stamp.getModifiedAt());
+
+        assertTrue(recipeRepository.findVersionStampById(-1L).isEmpty());
+    }
+}
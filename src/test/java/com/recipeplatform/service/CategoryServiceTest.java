@@ -8,6 +8,9 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.util.Arrays;
 import java.util.List;
@@ -15,6 +18,7 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class CategoryServiceTest {
@@ -22,6 +26,9 @@ class CategoryServiceTest {
     @Mock
     private CategoryRepository categoryRepository;
 
+    @Mock
+    private CatalogVersionService catalogVersionService;
+
     @InjectMocks
     private CategoryServiceImpl categoryService;
 
@@ -51,6 +58,25 @@ class CategoryServiceTest {
         verify(categoryRepository).findAll();
     }
 
+    @Test
+    void getCategoriesAfter_ShouldFetchOneExtraRowToDetectNextPage() {
+        // Arrange
+        Category second = new Category();
+        second.setId(2L);
+        Category third = new Category();
+        third.setId(3L);
+        when(categoryRepository.findPageOrderById(eq(0L), any(Pageable.class)))
+            .thenReturn(Arrays.asList(testCategory, second, third));
+
+        // Act
+        Slice<Category> result = categoryService.getCategoriesAfter(0L, 2);
+
+        // Assert
+        assertEquals(Arrays.asList(testCategory, second), result.getContent());
+        assertTrue(result.hasNext());
+        verify(categoryRepository).findPageOrderById(0L, PageRequest.of(0, 3));
+    }
+
     @Test
     void getCategoryById_WhenExists_ShouldReturnCategory() {
         // Arrange
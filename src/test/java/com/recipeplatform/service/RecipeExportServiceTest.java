@@ -0,0 +1,109 @@
+package com.recipeplatform.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.recipeplatform.config.ExportProperties;
+import com.recipeplatform.model.Category;
+import com.recipeplatform.model.Recipe;
+import com.recipeplatform.repository.CategoryRepository;
+import com.recipeplatform.repository.RecipeRepository;
+import com.recipeplatform.search.IngredientDictionary;
+import com.recipeplatform.service.impl.RecipeExportServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(IngredientDictionary.class)
+@ActiveProfiles("test")
+class RecipeExportServiceTest {
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private IngredientDictionary ingredientDictionary;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private RecipeExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        ExportProperties exportProperties = new ExportProperties();
+        exportProperties.setFetchSize(2);
+        exportService = new RecipeExportServiceImpl(dataSource, transactionManager, objectMapper, exportProperties);
+
+        Category soups = categoryRepository.save(Category.builder().name("Супи").description("Перші страви").build());
+        recipeRepository.saveAll(Arrays.asList(
+            Recipe.builder().title("Борщ").description("Червоний").category(soups)
+                .ingredients(ingredientDictionary.internNames(Arrays.asList("буряк", "капуста", "картопля"))).build(),
+            Recipe.builder().title("Бульйон").category(soups).ingredients(new ArrayList<>()).build(),
+            Recipe.builder().title("Юшка").description("Рибна").category(soups)
+                .ingredients(ingredientDictionary.internNames(Arrays.asList("риба"))).build()));
+        entityManager.flush();
+    }
+
+    @Test
+    void exportNdjson_ShouldWriteOneLinePerRecipeInIdOrder() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long exported = exportService.exportNdjson(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, exported);
+        assertEquals(3, lines.length);
+
+        JsonNode borshch = objectMapper.readTree(lines[0]);
+        assertEquals("Борщ", borshch.get("title").asText());
+        assertEquals("Супи", borshch.get("category").get("name").asText());
+        List<String> ingredients = new ArrayList<>();
+        borshch.get("ingredients").forEach(node -> ingredients.add(node.asText()));
+        assertEquals(3, ingredients.size());
+        assertTrue(ingredients.containsAll(Arrays.asList("буряк", "капуста", "картопля")));
+
+        JsonNode broth = objectMapper.readTree(lines[1]);
+        assertEquals("Бульйон", broth.get("title").asText());
+        assertTrue(broth.get("description").isNull());
+        assertEquals(0, broth.get("ingredients").size());
+
+        assertEquals("Юшка", objectMapper.readTree(lines[2]).get("title").asText());
+        assertTrue(broth.get("id").asLong() < objectMapper.readTree(lines[2]).get("id").asLong());
+    }
+
+    @Test
+    void exportNdjson_WithEmptyCatalog_ShouldWriteNothing() throws Exception {
+        recipeRepository.deleteAll();
+        entityManager.flush();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertEquals(0, exportService.exportNdjson(out));
+        assertEquals(0, out.size());
+    }
+}
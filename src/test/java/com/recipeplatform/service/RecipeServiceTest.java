@@ -1,22 +1,52 @@
 package com.recipeplatform.service;
 
+import com.recipeplatform.config.SearchProperties;
 import com.recipeplatform.model.Recipe;
 import com.recipeplatform.model.Category;
+import com.recipeplatform.payload.response.BatchGetResponse;
+import com.recipeplatform.payload.response.RecipeField;
+import com.recipeplatform.payload.response.SparseRecipeResponse;
 import com.recipeplatform.repository.RecipeRepository;
+import com.recipeplatform.search.Bm25Index;
+import com.recipeplatform.search.CategoryIndex;
+import com.recipeplatform.search.FuzzySearch;
+import com.recipeplatform.search.IngredientDictionary;
+import com.recipeplatform.search.IngredientIndex;
+import com.recipeplatform.search.MinHashIndex;
+import com.recipeplatform.search.PantryIndex;
+import com.recipeplatform.search.RecipeIndexer;
+import com.recipeplatform.search.RecipeQuery;
+import com.recipeplatform.search.RecipeQueryPlanner;
+import com.recipeplatform.search.SearchCursor;
+import com.recipeplatform.search.SearchPage;
+import com.recipeplatform.search.SearchResultCache;
+import com.recipeplatform.search.SearchSort;
+import com.recipeplatform.search.SuggestionIndex;
 import com.recipeplatform.service.impl.RecipeServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import javax.persistence.EntityNotFoundException;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class RecipeServiceTest {
@@ -24,6 +54,45 @@ class RecipeServiceTest {
     @Mock
     private RecipeRepository recipeRepository;
 
+    @Mock
+    private RecipeIndexer recipeIndexer;
+
+    @Mock
+    private IngredientIndex ingredientIndex;
+
+    @Mock
+    private RecipeQueryPlanner queryPlanner;
+
+    @Mock
+    private CategoryIndex categoryIndex;
+
+    @Mock
+    private PantryIndex pantryIndex;
+
+    @Mock
+    private FuzzySearch fuzzySearch;
+
+    @Mock
+    private SuggestionIndex suggestionIndex;
+
+    @Mock
+    private SearchResultCache searchResultCache;
+
+    @Mock
+    private IngredientDictionary ingredientDictionary;
+
+    @Mock
+    private Bm25Index bm25Index;
+
+    @Mock
+    private MinHashIndex minHashIndex;
+
+    @Mock
+    private SearchProperties searchProperties;
+
+    @Mock
+    private CatalogVersionService catalogVersionService;
+
     @InjectMocks
     private RecipeServiceImpl recipeService;
 
@@ -33,6 +102,11 @@ class RecipeServiceTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(ingredientDictionary.canonicalName(anyString())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(ingredientDictionary.canonicalNames(any()))
+            .thenAnswer(invocation -> new ArrayList<>(invocation.<Collection<String>>getArgument(0)));
+        when(ingredientDictionary.internNames(any()))
+            .thenAnswer(invocation -> new ArrayList<>(invocation.<Collection<String>>getArgument(0)));
 
         testCategory = new Category();
         testCategory.setId(1L);
@@ -60,6 +134,20 @@ class RecipeServiceTest {
         verify(recipeRepository).findAll();
     }
 
+    @Test
+    void getRecipesAfter_OnLastPage_ShouldReportNoNextPage() {
+        // Arrange
+        when(recipeRepository.findPageOrderById(eq(0L), any(Pageable.class))).thenReturn(List.of(testRecipe));
+
+        // Act
+        Slice<Recipe> result = recipeService.getRecipesAfter(0L, 2);
+
+        // Assert
+        assertEquals(List.of(testRecipe), result.getContent());
+        assertFalse(result.hasNext());
+        verify(recipeRepository).findPageOrderById(0L, PageRequest.of(0, 3));
+    }
+
     @Test
     void getRecipeById_WhenExists_ShouldReturnRecipe() {
         // Arrange
@@ -135,6 +223,111 @@ class RecipeServiceTest {
         verify(recipeRepository).findByTitleContainingIgnoreCase(searchTitle);
     }
 
+    @Test
+    void searchByIngredient_ShouldLoadRecipesFromIndex() {
+        // Arrange
+        Set<Long> ids = new TreeSet<>(Arrays.asList(1L));
+        when(ingredientIndex.search("ingredient1")).thenReturn(ids);
+        when(recipeRepository.findAllById(ids)).thenReturn(Arrays.asList(testRecipe));
+
+        // Act
+        List<Recipe> result = recipeService.searchByIngredient("ingredient1");
+
+        // Assert
+        assertEquals(1, result.size());
+        verify(recipeRepository, never()).findByIngredientsContainingIgnoreCase(any());
+    }
+
+    @Test
+    void searchByTitleOrDescription_ShouldUseFullTextQueryWhenEnabled() {
+        // Arrange
+        when(searchProperties.isFullText()).thenReturn(true);
+        when(recipeRepository.searchFullText("test:* & rec:*")).thenReturn(Arrays.asList(testRecipe));
+
+        // Act
+        List<Recipe> result = recipeService.searchByTitleOrDescription("Test rec");
+
+        // Assert
+        assertEquals(1, result.size());
+        verify(recipeRepository, never()).findByTitleContainingIgnoreCase(any());
+        verify(recipeRepository, never()).findByDescriptionContainingIgnoreCase(any());
+    }
+
+    @Test
+    void searchRecipes_FirstPage_ShouldBeServedFromCache() {
+        RecipeQuery query = RecipeQuery.builder().ingredients(List.of("beet")).build();
+        when(searchResultCache.get(SearchResultCache.Key.of(query, SearchSort.ID, 20, false)))
+            .thenReturn(new SearchResultCache.CachedPage(List.of(1L), List.of(0f), null));
+        when(recipeRepository.findAllById(List.of(1L))).thenReturn(List.of(testRecipe));
+
+        SearchPage<Recipe> page = recipeService.searchRecipes(query, SearchSort.ID, null, 20, false);
+
+        assertEquals(List.of(testRecipe), page.getItems());
+        verifyNoInteractions(queryPlanner);
+        verify(searchResultCache, never()).put(any(), any(), anyLong());
+    }
+
+    @Test
+    void searchRecipes_ShouldCacheOnlyFirstPages() {
+        RecipeQuery query = RecipeQuery.builder().ingredients(List.of("beet")).build();
+        when(queryPlanner.candidates(any())).thenReturn(new TreeSet<>(List.of(1L)));
+        when(recipeRepository.findAllById(List.of(1L))).thenReturn(List.of(testRecipe));
+        when(searchResultCache.generation()).thenReturn(7L);
+
+        recipeService.searchRecipes(query, SearchSort.ID, null, 20, false);
+        recipeService.searchRecipes(query, SearchSort.ID, SearchCursor.first(SearchSort.ID), 20, false);
+
+        verify(searchResultCache).put(eq(SearchResultCache.Key.of(query, SearchSort.ID, 20, false)),
+            eq(new SearchResultCache.CachedPage(List.of(1L), List.of(0f), null)), eq(7L));
+        verify(searchResultCache, times(1)).get(any());
+        verify(queryPlanner, times(2)).candidates(any());
+    }
+
+    @Test
+    void searchRecipes_OnlyExclusions_ShouldRunInSqlWithoutPlanner() {
+        RecipeQuery query = RecipeQuery.builder().excludedIngredients(List.of("капуста")).build();
+        SearchCursor first = SearchCursor.first(SearchSort.ID);
+        when(recipeRepository.searchPageExcluding(null, false, List.of("капуста"), first, 21))
+            .thenReturn(List.<Object[]>of(new Object[]{1L, 0}));
+        when(recipeRepository.findAllById(List.of(1L))).thenReturn(List.of(testRecipe));
+
+        SearchPage<Recipe> page = recipeService.searchRecipes(query, SearchSort.ID, null, 20, false);
+
+        assertEquals(List.of(testRecipe), page.getItems());
+        verifyNoInteractions(queryPlanner);
+    }
+
+    @Test
+    void searchRecipes_TextWithIngredients_ShouldRankCandidatesByRelevance() {
+        RecipeQuery query = RecipeQuery.builder().text("борщ").ingredients(List.of("буряк")).build();
+        when(searchProperties.getInListLimit()).thenReturn(1000);
+        when(queryPlanner.candidates(any())).thenReturn(new TreeSet<>(List.of(1L, 2L)));
+        when(recipeRepository.searchRankPageByIdInOrderByRelevance(eq("борщ"), eq(new TreeSet<>(List.of(1L, 2L))),
+            eq(2), eq(0L), any())).thenReturn(List.<Object[]>of(new Object[]{1L, 1}));
+        when(recipeRepository.findAllById(List.of(1L))).thenReturn(List.of(testRecipe));
+
+        SearchPage<Recipe> page = recipeService.searchRecipes(query, SearchSort.RELEVANCE, null, 20, false);
+
+        assertEquals(List.of(testRecipe), page.getItems());
+    }
+
+    @Test
+    void searchRecipes_ManyCandidatesByTitle_ShouldScanInsteadOfBindingThemAll() {
+        RecipeQuery query = RecipeQuery.builder().ingredients(List.of("буряк")).build();
+        when(searchProperties.getInListLimit()).thenReturn(2);
+        when(queryPlanner.candidates(any())).thenReturn(new TreeSet<>(List.of(1L, 3L, 5L)));
+        when(recipeRepository.findTitleKeysOrderByTitle("", 0L, PageRequest.of(0, 2)))
+            .thenReturn(List.of(new Object[]{2L, "А"}, new Object[]{3L, "Б"}));
+        when(recipeRepository.findTitleKeysOrderByTitle("Б", 3L, PageRequest.of(0, 2)))
+            .thenReturn(List.<Object[]>of(new Object[]{1L, "В"}));
+        when(recipeRepository.findAllById(List.of(3L, 1L))).thenReturn(List.of(testRecipe));
+
+        recipeService.searchRecipes(query, SearchSort.TITLE, null, 20, false);
+
+        verify(recipeRepository, never()).findPageByIdInOrderByTitle(any(), any(), any(), any());
+        verify(recipeRepository).findAllById(List.of(3L, 1L));
+    }
+
     @Test
     void getRecipeById_ShouldThrowException_WhenRecipeNotFound() {
         when(recipeRepository.findById(1L)).thenReturn(Optional.empty());
@@ -151,4 +344,19 @@ class RecipeServiceTest {
         assertThrows(EntityNotFoundException.class, () -> recipeService.deleteRecipe(1L));
         verify(recipeRepository, never()).deleteById(1L);
     }
-} 
\ No newline at end of file
+
+    @Test
+    void getRecipesByIds_ShouldKeepRequestOrderAndReportMissingIds() {
+        Set<RecipeField> fields = RecipeField.parse("title");
+        when(recipeRepository.findFieldsByIdIn(eq(fields), any())).thenReturn(Arrays.asList(
+            new SparseRecipeResponse(fields, 1L, "Борщ", null, null, null),
+            new SparseRecipeResponse(fields, 3L, "Вареники", null, null, null)));
+
+        BatchGetResponse result = recipeService.getRecipesByIds(Arrays.asList(3L, 2L, 1L, 3L), fields);
+
+        assertEquals(Arrays.asList(3L, 1L), result.getRecipes().stream()
+            .map(SparseRecipeResponse::getId).collect(Collectors.toList()));
+        assertEquals(List.of(2L), result.getMissingIds());
+        verify(recipeRepository, times(1)).findFieldsByIdIn(eq(fields), eq(new LinkedHashSet<>(List.of(3L, 2L, 1L))));
+    }
+}